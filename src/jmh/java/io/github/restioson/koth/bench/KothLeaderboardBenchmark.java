@@ -0,0 +1,92 @@
+package io.github.restioson.koth.bench;
+
+import io.github.restioson.koth.game.sim.KothContestant;
+import io.github.restioson.koth.game.sim.KothLeaderboard;
+import io.github.restioson.koth.game.sim.KothRules;
+import io.github.restioson.koth.game.sim.KothSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-ranking the sidebar leaderboard after a single change fed through the simulation: someone scoring alone on the
+ * throne, or someone moving in winner-takes-all. Round wins only change when a round finishes, so for those this
+ * re-ranks unchanged wins.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KothLeaderboardBenchmark {
+    @Param({"2", "20", "100", "500"})
+    public int players;
+
+    @Param({"SCORE", "WINS", "HEIGHT"})
+    public KothLeaderboard.Ranking ranking;
+
+    private final Random random = new Random(0);
+    private final List<KothContestant> contestants = new ArrayList<>();
+    private KothSimulation<KothContestant> simulation;
+    private KothLeaderboard<KothContestant> leaderboard;
+    private KothContestant onThrone;
+    private long time;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.simulation = new KothSimulation<>(this.rules(), new KothSimulation.Listener<KothContestant>() {});
+        this.contestants.clear();
+        for (int i = 0; i < this.players; i++) {
+            KothContestant contestant = new KothContestant();
+            this.contestants.add(contestant);
+            this.simulation.add(contestant);
+        }
+
+        this.leaderboard = this.simulation.getLeaderboard();
+        this.onThrone = this.contestants.get(0);
+        this.simulation.setOnThrone(this.onThrone, true);
+        this.time = 0;
+    }
+
+    private KothRules rules() {
+        switch (this.ranking) {
+            case WINS:
+                return SyntheticLobby.rules("deathmatch");
+            case HEIGHT:
+                return SyntheticLobby.rules("winner_takes_all");
+            case SCORE:
+            default:
+                return SyntheticLobby.rules("scored");
+        }
+    }
+
+    @Benchmark
+    public boolean rerank() {
+        KothContestant contestant = this.contestants.get(this.random.nextInt(this.players));
+
+        switch (this.ranking) {
+            case SCORE:
+                this.simulation.setOnThrone(this.onThrone, false);
+                this.simulation.setOnThrone(contestant, true);
+                this.onThrone = contestant;
+
+                // Throne points are scored once a second
+                this.time += 20;
+                this.simulation.tickContestants(this.time);
+                break;
+            case HEIGHT:
+                this.simulation.setHeight(contestant, this.random.nextDouble() * 64);
+                break;
+            case WINS:
+            default:
+                this.leaderboard.invalidate();
+                break;
+        }
+
+        return this.leaderboard.update();
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.restioson.koth.bench;
+
+import io.github.restioson.koth.game.KothConfig;
+import io.github.restioson.koth.game.map.KothMap;
+import io.github.restioson.koth.game.map.KothMapBuilder;
+import io.github.restioson.koth.game.map.KothMapCache;
+import io.github.restioson.koth.game.map.KothMapTemplate;
+import io.github.restioson.koth.game.map.KothSpawnColumns;
+import net.minecraft.Bootstrap;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import xyz.nucleoid.plasmid.map.template.MapTemplate;
+import xyz.nucleoid.plasmid.map.template.MapTemplateSerializer;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a map template, building a map from scratch through the map loader, indexing its spawn columns, and picking
+ * spawn points for a whole lobby on it. These need the block registry, so the game is bootstrapped once per fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KothMapBenchmark {
+    @Param({"2", "20", "100", "500"})
+    public int players;
+
+    @Param({"koth:stack", "koth:cotton_candy", "koth:deathmatch"})
+    public String map;
+
+    private final Random random = new Random(0);
+    private KothConfig.MapConfig mapConfig;
+    private MapTemplate template;
+    private BlockBounds spawn;
+    private KothSpawnColumns spawnColumns;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Bootstrap.initialize();
+
+        Identifier id = new Identifier(this.map);
+        this.mapConfig = new KothConfig.MapConfig(id, 0, 6000, 1.0, true);
+        this.template = MapTemplateSerializer.INSTANCE.loadFromResource(id);
+        this.spawn = this.template.getMetadata().getFirstRegionBounds("spawn");
+        this.spawnColumns = KothSpawnColumns.scan(this.spawn, this.template::getBlockState);
+    }
+
+    @Benchmark
+    public KothMapTemplate load() {
+        return KothMapTemplate.load(this.mapConfig.id);
+    }
+
+    @Benchmark
+    public KothMap create() {
+        // Otherwise every call after the first would only measure a cache hit
+        KothMapCache.invalidate(this.mapConfig.id);
+        return new KothMapBuilder(this.mapConfig).create();
+    }
+
+    @Benchmark
+    public KothSpawnColumns scanSpawn() {
+        return KothSpawnColumns.scan(this.spawn, this.template::getBlockState);
+    }
+
+    @Benchmark
+    public void spawnLobby(Blackhole blackhole) {
+        for (int i = 0; i < this.players; i++) {
+            Vec3d spawn = this.spawnColumns.pick(this.random);
+            blackhole.consume(spawn);
+        }
+    }
+}
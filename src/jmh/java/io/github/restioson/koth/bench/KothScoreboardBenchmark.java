@@ -0,0 +1,33 @@
+package io.github.restioson.koth.bench;
+
+import io.github.restioson.koth.game.KothScoreboard;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting a full sidebar's worth of leaderboard lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KothScoreboardBenchmark {
+    private static final String[] NAMES = { "Restioson", "PotatoPresident", "Steve", "Alex", "Notch" };
+
+    @Param({"RULER", "ROUNDS", "POINTS", "SECONDS"})
+    public KothScoreboard.Line line;
+
+    private int value;
+
+    @Benchmark
+    public void formatLines(Blackhole blackhole) {
+        int value = this.value++;
+        for (String name : NAMES) {
+            blackhole.consume(this.line.format(name, value));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.restioson.koth.bench;
+
+import io.github.restioson.koth.game.sim.KothRound;
+import io.github.restioson.koth.game.sim.KothRules;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full game tick of the rules, and the round state machine on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KothSimulationBenchmark {
+    @Param({"2", "20", "100", "500"})
+    public int players;
+
+    @Param({"scored", "winner_takes_all", "knockoff", "deathmatch"})
+    public String mode;
+
+    private KothRules rules;
+    private SyntheticLobby lobby;
+    private KothRound round;
+    private long roundTime;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.rules = SyntheticLobby.rules(this.mode);
+        this.lobby = new SyntheticLobby(this.rules, this.players);
+
+        this.round = new KothRound(this.rules);
+        this.round.start(0);
+        this.roundTime = this.round.getStartTime();
+    }
+
+    @Benchmark
+    public boolean tick() {
+        if (!this.lobby.tick()) {
+            this.lobby = new SyntheticLobby(this.rules, this.players);
+            return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public KothRound.TickResult roundTick() {
+        KothRound.TickResult result = this.round.tick(this.roundTime++, true, false, this.players, this.players);
+        if (result != KothRound.TickResult.CONTINUE_TICK) {
+            this.round.start(this.roundTime);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.restioson.koth.bench;
+
+import io.github.restioson.koth.game.sim.KothContestant;
+import io.github.restioson.koth.game.sim.KothRound;
+import io.github.restioson.koth.game.sim.KothRules;
+import io.github.restioson.koth.game.sim.KothSimulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A lobby of simulated players who wander up and down the hill, step on and off the throne and knock each other off.
+ */
+final class SyntheticLobby {
+    private static final long SEED = 0x6B6F7468L;
+
+    final KothSimulation<KothContestant> simulation;
+    final List<KothContestant> contestants = new ArrayList<>();
+
+    private final Random random = new Random(SEED);
+    private final int players;
+    private long time;
+
+    SyntheticLobby(KothRules rules, int players) {
+        this.players = players;
+        this.simulation = new KothSimulation<>(rules, new KothSimulation.Listener<KothContestant>() {});
+
+        for (int i = 0; i < players; i++) {
+            KothContestant contestant = new KothContestant();
+            this.contestants.add(contestant);
+            this.simulation.add(contestant);
+        }
+
+        this.simulation.start(0);
+        this.time = this.simulation.getRound().getStartTime();
+    }
+
+    static KothRules rules(String mode) {
+        switch (mode) {
+            case "winner_takes_all":
+                return new KothRules(150, 1, true, false, false, false);
+            case "knockoff":
+                return new KothRules(0, 24, false, false, true, true);
+            case "deathmatch":
+                return new KothRules(0, 3, false, true, false, false);
+            case "scored":
+            default:
+                return new KothRules(150, 1, false, false, false, false);
+        }
+    }
+
+    /**
+     * Moves every player the way a real game would report them to the simulation.
+     */
+    void move() {
+        for (KothContestant contestant : this.contestants) {
+            if (!contestant.isAlive()) {
+                continue;
+            }
+
+            double y = contestant.getY() + (this.random.nextDouble() - 0.5);
+            this.simulation.setHeight(contestant, y);
+            this.simulation.setOnThrone(contestant, this.random.nextInt(this.players * 4) == 0);
+        }
+    }
+
+    /**
+     * Runs one full game tick.
+     *
+     * @return whether the game is still running
+     */
+    boolean tick() {
+        long time = this.time++;
+
+        this.move();
+
+        KothRound.TickResult result = this.simulation.tickRound(time, this.players);
+        if (result == KothRound.TickResult.GAME_CLOSED) {
+            return false;
+        } else if (result == KothRound.TickResult.NEXT_ROUND) {
+            this.simulation.resetRound();
+            return true;
+        } else if (result != KothRound.TickResult.CONTINUE_TICK && result != KothRound.TickResult.OVERTIME) {
+            return true;
+        }
+
+        for (KothContestant contestant : this.contestants) {
+            if (contestant.isAlive() && this.random.nextInt(400) == 0) {
+                KothContestant attacker = this.contestants.get(this.random.nextInt(this.players));
+                if (attacker != contestant) {
+                    this.simulation.recordAttack(contestant, attacker, time);
+                }
+                this.simulation.eliminate(contestant, time);
+            }
+        }
+
+        this.simulation.tickContestants(time);
+        this.simulation.getLeaderboard().update();
+
+        return true;
+    }
+}
@@ -2,11 +2,16 @@ package io.github.restioson.koth;
 
 import io.github.restioson.koth.game.KothConfig;
 import io.github.restioson.koth.game.KothWaiting;
+import io.github.restioson.koth.game.map.KothMapCache;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v1.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.minecraft.util.Identifier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import xyz.nucleoid.plasmid.game.ConfiguredGame;
 import xyz.nucleoid.plasmid.game.GameType;
+import xyz.nucleoid.plasmid.game.config.GameConfigs;
 
 public class Koth implements ModInitializer {
     public static final String ID = "koth";
@@ -19,5 +24,24 @@ public class Koth implements ModInitializer {
     );
 
     @Override
-    public void onInitialize() {}
+    public void onInitialize() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, dedicated) -> KothCommand.register(dispatcher));
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> prefetchMaps());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resources, success) -> {
+            KothMapCache.invalidateAll();
+            prefetchMaps();
+        });
+    }
+
+    /**
+     * Loads the template of every configured KotH game in the background, so that opening one doesn't wait on I/O.
+     */
+    private static void prefetchMaps() {
+        for (Identifier id : GameConfigs.getKeys()) {
+            ConfiguredGame<?> game = GameConfigs.get(id);
+            if (game != null && game.getType() == TYPE) {
+                KothMapCache.prefetch(((KothConfig) game.getConfig()).map.id);
+            }
+        }
+    }
 }
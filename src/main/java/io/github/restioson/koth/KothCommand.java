@@ -0,0 +1,155 @@
+package io.github.restioson.koth;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import io.github.restioson.koth.game.KothTickProfiler;
+import io.github.restioson.koth.game.map.KothMapCache;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Formatting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+public final class KothCommand {
+    private static final DateTimeFormatter DUMP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+                literal("koth")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .then(literal("perf")
+                                .executes(KothCommand::printPerf)
+                                .then(literal("dump").executes(KothCommand::dumpPerf))
+                                .then(literal("reset").executes(KothCommand::resetPerf))
+                        )
+        );
+    }
+
+    private static int printPerf(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        List<KothTickProfiler> profilers = KothTickProfiler.getActive();
+
+        KothMapCache.Stats cache = KothMapCache.getStats();
+        String cacheLine = String.format(
+                "Map cache: %d templates, %d hits, %d misses, %d evictions",
+                cache.size, cache.hits, cache.misses, cache.evictions
+        );
+        source.sendFeedback(new LiteralText(cacheLine).formatted(Formatting.GRAY), false);
+
+        if (profilers.isEmpty()) {
+            source.sendFeedback(new LiteralText("No KotH games are running"), false);
+            return 0;
+        }
+
+        for (KothTickProfiler profiler : profilers) {
+            long ticks = profiler.get(KothTickProfiler.Phase.TOTAL).getCount();
+            source.sendFeedback(new LiteralText(profiler.getName() + " (" + ticks + " ticks)").formatted(Formatting.GOLD), false);
+
+            for (KothTickProfiler.Phase phase : KothTickProfiler.Phase.values()) {
+                KothTickProfiler.Histogram histogram = profiler.get(phase);
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+
+                String line = String.format(
+                        "  %s: p50 %s, p99 %s, max %s",
+                        phase.name,
+                        formatNanos(histogram.getPercentile(50)),
+                        formatNanos(histogram.getPercentile(99)),
+                        formatNanos(histogram.getMax())
+                );
+                source.sendFeedback(new LiteralText(line), false);
+            }
+
+            for (KothTickProfiler.Counter counter : profiler.getCounters()) {
+                source.sendFeedback(new LiteralText("  " + counter.name + ": " + counter.get()).formatted(Formatting.GRAY), false);
+            }
+        }
+
+        return profilers.size();
+    }
+
+    private static int dumpPerf(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        List<KothTickProfiler> profilers = KothTickProfiler.getActive();
+
+        Path directory = FabricLoader.getInstance().getGameDir().resolve("koth-perf");
+        Path path = directory.resolve("perf-" + LocalDateTime.now().format(DUMP_TIMESTAMP) + ".csv");
+
+        try {
+            Files.createDirectories(directory);
+
+            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+                writer.write("arena,phase,count,mean_ns,p50_ns,p99_ns,max_ns,buckets");
+                writer.newLine();
+
+                for (KothTickProfiler profiler : profilers) {
+                    for (KothTickProfiler.Phase phase : KothTickProfiler.Phase.values()) {
+                        writePhase(writer, profiler, phase);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Koth.LOGGER.error("Failed to dump KotH tick timings", e);
+            source.sendError(new LiteralText("Failed to write " + path + ": " + e.getMessage()));
+            return 0;
+        }
+
+        source.sendFeedback(new LiteralText("Dumped timings for " + profilers.size() + " games to " + path), false);
+        return profilers.size();
+    }
+
+    private static void writePhase(BufferedWriter writer, KothTickProfiler profiler, KothTickProfiler.Phase phase) throws IOException {
+        KothTickProfiler.Histogram histogram = profiler.get(phase);
+
+        StringBuilder buckets = new StringBuilder();
+        for (int bucket = 0; bucket < histogram.getBucketCount(); bucket++) {
+            long count = histogram.getBucket(bucket);
+            if (count != 0) {
+                if (buckets.length() > 0) {
+                    buckets.append(';');
+                }
+                buckets.append(KothTickProfiler.Histogram.upperBoundOf(bucket)).append(':').append(count);
+            }
+        }
+
+        writer.write(String.join(",",
+                '"' + profiler.getName() + '"',
+                phase.name,
+                Long.toString(histogram.getCount()),
+                Long.toString(histogram.getMean()),
+                Long.toString(histogram.getPercentile(50)),
+                Long.toString(histogram.getPercentile(99)),
+                Long.toString(histogram.getMax()),
+                buckets
+        ));
+        writer.newLine();
+    }
+
+    private static int resetPerf(CommandContext<ServerCommandSource> context) {
+        List<KothTickProfiler> profilers = KothTickProfiler.getActive();
+        for (KothTickProfiler profiler : profilers) {
+            profiler.reset();
+        }
+
+        context.getSource().sendFeedback(new LiteralText("Reset timings for " + profilers.size() + " games"), false);
+        return profilers.size();
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format("%.2fms", nanos / 1_000_000.0);
+        } else {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+    }
+}
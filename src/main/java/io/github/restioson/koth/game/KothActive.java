@@ -1,15 +1,15 @@
 package io.github.restioson.koth.game;
 
 import com.google.common.collect.Sets;
+import io.github.restioson.koth.Koth;
 import io.github.restioson.koth.game.map.KothMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import io.github.restioson.koth.game.sim.KothRound;
+import io.github.restioson.koth.game.sim.KothRules;
+import io.github.restioson.koth.game.sim.KothSimulation;
 import net.minecraft.enchantment.Enchantments;
-import net.minecraft.entity.EntityType;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.player.ItemCooldownManager;
-import net.minecraft.entity.projectile.ArrowEntity;
 import net.minecraft.entity.projectile.PersistentProjectileEntity;
 import net.minecraft.inventory.Inventories;
 import net.minecraft.item.ArrowItem;
@@ -27,7 +27,9 @@ import net.minecraft.util.ActionResult;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Hand;
 import net.minecraft.util.TypedActionResult;
+import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.GameMode;
 import xyz.nucleoid.plasmid.game.GameSpace;
@@ -36,70 +38,103 @@ import xyz.nucleoid.plasmid.game.player.JoinResult;
 import xyz.nucleoid.plasmid.game.player.PlayerSet;
 import xyz.nucleoid.plasmid.game.rule.GameRule;
 import xyz.nucleoid.plasmid.game.rule.RuleResult;
-import xyz.nucleoid.plasmid.util.BlockBounds;
 import xyz.nucleoid.plasmid.util.ItemStackBuilder;
-import xyz.nucleoid.plasmid.util.PlayerRef;
 import xyz.nucleoid.plasmid.widget.GlobalWidgets;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class KothActive {
     private final KothConfig config;
 
+    private final KothArena arena;
     public final GameSpace gameSpace;
     private final KothMap gameMap;
 
-    private final Object2ObjectMap<ServerPlayerEntity, KothPlayer> participants;
+    private final KothPlayerTable participants = new KothPlayerTable();
     private final KothSpawnLogic spawnLogic;
     private final KothStageManager stageManager;
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType") // i like ifPresent
     private final Optional<KothTimerBar> timerBar;
     private final KothScoreboard scoreboard;
-    private OvertimeState overtimeState = OvertimeState.NOT_IN_OVERTIME;
-    private boolean gameFinished;
+    private final KothGameTexts texts;
+    private final KothFeedback feedback;
+    private final KothSimulation<KothPlayer> simulation;
+    private final KothArrowTracker arrows = new KothArrowTracker();
+    private final KothTickProfiler profiler;
+    private final KothRoundState roundState;
+    private final List<KothPlayer> assists = new ArrayList<>();
     private static final int LEAP_INTERVAL_TICKS = 5 * 20; // 5 second cooldown
     private static final double LEAP_VELOCITY = 1.0;
     private boolean pvpEnabled = false;
+    private boolean closed = false;
 
-    private KothActive(GameSpace gameSpace, KothMap map, KothConfig config, Set<ServerPlayerEntity> participants, GlobalWidgets widgets) {
-        this.gameSpace = gameSpace;
+    private KothActive(KothArena arena, Set<ServerPlayerEntity> participants, GlobalWidgets widgets) {
+        KothConfig config = arena.config;
+
+        this.arena = arena;
+        this.gameSpace = arena.gameSpace;
         this.config = config;
-        this.gameMap = map;
-        this.spawnLogic = new KothSpawnLogic(gameSpace, map);
-        this.participants = new Object2ObjectOpenHashMap<>();
+        this.gameMap = arena.map;
+        this.spawnLogic = arena.spawnLogic;
+        this.simulation = new KothSimulation<>(config.rules, new SimulationListener());
+        this.roundState = new KothRoundState(this.simulation);
 
         for (ServerPlayerEntity player : participants) {
-            this.participants.put(player, new KothPlayer(player));
+            this.simulation.add(this.participants.add(player));
         }
 
         String name;
-        if (config.deathmatch) {
-            name = "Deathmatch!";
-        } else if (config.winnerTakesAll) {
-            name = "Winner Takes All";
-        } else if (config.knockoff) {
-            name = "Knock everyone off arena!";
-        } else {
-            name = "Longest-reigning Ruler";
+        switch (config.rules.mode) {
+            case DEATHMATCH:
+                name = "Deathmatch!";
+                break;
+            case WINNER_TAKES_ALL:
+                name = "Winner Takes All";
+                break;
+            case KNOCKOFF:
+                name = "Knock everyone off arena!";
+                break;
+            case THRONE:
+            default:
+                name = "Longest-reigning Ruler";
+                break;
         }
 
-        this.scoreboard = new KothScoreboard(widgets, name, this.config.winnerTakesAll, this.config.deathmatch, this.config.knockoff);
-
-        this.stageManager = new KothStageManager(config);
-
-        if (this.config.deathmatch || this.config.knockoff) {
-            this.timerBar = Optional.empty();
+        this.scoreboard = new KothScoreboard(widgets, name, config.rules.mode);
+        this.texts = new KothGameTexts(config);
+        this.feedback = new KothFeedback(this.gameSpace, this.scoreboard, this.simulation.getLeaderboard());
+
+        this.profiler = KothTickProfiler.open(config.map.id.toString());
+        this.profiler.addCounter("live arrows", this.arrows::getLiveCount);
+        this.profiler.addCounter("sidebar updates sent", this.scoreboard::getEmittedUpdates);
+        this.profiler.addCounter("sidebar updates suppressed", this.scoreboard::getSuppressedUpdates);
+        this.profiler.addCounter("feedback events queued", this.feedback::getQueuedEvents);
+        this.profiler.addCounter("feedback effects sent", this.feedback::getFlushedEffects);
+        this.profiler.addCounter("spawn slots taken", this.spawnLogic.getAllocator()::getTakenCount);
+        this.profiler.addCounter("spawn slot fallbacks", this.spawnLogic.getAllocator()::getFallbackCount);
+        this.profiler.addCounter("journaled blocks", arena.blockJournal::size);
+        this.profiler.addCounter("bounds checks", arena.boundsMonitor::getChecks);
+        this.profiler.addCounter("bounds checks skipped", arena.boundsMonitor::getSkippedChecks);
+
+        this.stageManager = new KothStageManager(config, this.roundState);
+        this.profiler.addCounter("freeze teleports", this.stageManager::getFreezeTeleports);
+        this.profiler.addCounter("round-scoped entries", this.roundState::getRetainedCount);
+        this.profiler.addCounter("attack records", this.simulation::getAttackRecordCount);
+        this.profiler.addCounter("pending timers", this.simulation::getPendingTimerCount);
+
+        if (config.rules.mode.isTimed()) {
+            this.timerBar = Optional.of(new KothTimerBar(config.timeLimitSecs));
         } else {
-            this.timerBar = Optional.of(new KothTimerBar());
+            this.timerBar = Optional.empty();
         }
     }
 
-    public static void open(GameSpace gameSpace, KothMap map, KothConfig config) {
+    public static void open(KothArena arena) {
+        GameSpace gameSpace = arena.gameSpace;
         gameSpace.openGame(game -> {
             Set<ServerPlayerEntity> participants = Sets.newHashSet(gameSpace.getPlayers());
             GlobalWidgets widgets = new GlobalWidgets(game);
-            KothActive active = new KothActive(gameSpace, map, config, participants, widgets);
+            KothActive active = new KothActive(arena, participants, widgets);
 
             game.setRule(GameRule.CRAFTING, RuleResult.DENY);
             game.setRule(GameRule.PORTALS, RuleResult.DENY);
@@ -120,6 +155,8 @@ public class KothActive {
 
             game.on(GameTickListener.EVENT, active::tick);
             game.on(UseItemListener.EVENT, active::onUseItem);
+            game.on(UseBlockListener.EVENT, active::onUseBlock);
+            game.on(BreakBlockListener.EVENT, active::onBreakBlock);
 
             game.on(PlayerDeathListener.EVENT, active::onPlayerDeath);
             game.on(PlayerDamageListener.EVENT, active::onPlayerDamage);
@@ -130,10 +167,11 @@ public class KothActive {
     private ActionResult onPlayerDamage(ServerPlayerEntity player, DamageSource source, float value) {
         KothPlayer participant = this.participants.get(player);
 
-        if (participant != null && source.getAttacker() != null && source.getAttacker() instanceof ServerPlayerEntity) {
-            long time = this.gameSpace.getWorld().getTime();
-            PlayerRef attacker = PlayerRef.of((ServerPlayerEntity) source.getAttacker());
-            participant.lastTimeWasAttacked = new AttackRecord(attacker, time);
+        if (participant != null && source.getAttacker() instanceof ServerPlayerEntity) {
+            KothPlayer attacker = this.participants.get((ServerPlayerEntity) source.getAttacker());
+            if (attacker != null) {
+                this.simulation.recordAttack(participant, attacker, this.gameSpace.getWorld().getTime());
+            }
         }
 
         if (!player.isSpectator() && source.isFire()) {
@@ -162,42 +200,64 @@ public class KothActive {
 
     private void onOpen() {
         ServerWorld world = this.gameSpace.getWorld();
-        for (ServerPlayerEntity player : this.participants.keySet()) {
+        for (KothPlayer participant : this.participants.getOnline()) {
+            ServerPlayerEntity player = participant.player;
             this.spawnParticipant(player);
+            this.giveItems(player);
+        }
+        this.stageManager.onOpen(this.config, this.gameSpace);
+        this.simulation.start(world.getTime());
+        this.scoreboard.renderTitle();
+    }
 
-            if (this.config.hasStick) {
-                ItemStack stick = ItemStackBuilder.of(Items.STICK)
-                        .addEnchantment(Enchantments.KNOCKBACK, 2)
-                        .addLore(new LiteralText("Ndiza kumbetha"))
-                        .build();
-                player.inventory.insertStack(stick);
-            }
+    private void giveItems(ServerPlayerEntity player) {
+        if (this.config.hasStick) {
+            ItemStack stick = ItemStackBuilder.of(Items.STICK)
+                    .addEnchantment(Enchantments.KNOCKBACK, 2)
+                    .addLore(new LiteralText("Ndiza kumbetha"))
+                    .build();
+            player.inventory.insertStack(stick);
+        }
 
-            if (this.config.hasBow) {
-                ItemStack arrow = ItemStackBuilder.of(Items.ARROW)
-                        .addLore(new LiteralText("It seems to always come back to me..."))
-                        .build();
+        if (this.config.hasBow) {
+            ItemStack arrow = ItemStackBuilder.of(Items.ARROW)
+                    .addLore(new LiteralText("It seems to always come back to me..."))
+                    .build();
 
-                player.inventory.insertStack(arrow);
-            }
+            player.inventory.insertStack(arrow);
+        }
 
-            if (this.config.hasFeather) {
-                ItemStack feather = ItemStackBuilder.of(Items.FEATHER)
-                        .addLore(new LiteralText("Bukelani, ndiyinkosi yesibhakabhaka!"))
-                        .build();
+        if (this.config.hasFeather) {
+            ItemStack feather = ItemStackBuilder.of(Items.FEATHER)
+                    .addLore(new LiteralText("Bukelani, ndiyinkosi yesibhakabhaka!"))
+                    .build();
 
-                if (this.config.hasBow) {
-                    player.inventory.insertStack(feather);
-                } else {
-                    player.equipStack(EquipmentSlot.OFFHAND, feather);
-                }
+            if (this.config.hasBow) {
+                player.inventory.insertStack(feather);
+            } else {
+                player.equipStack(EquipmentSlot.OFFHAND, feather);
             }
         }
-        this.stageManager.onOpen(world.getTime(), this.config, this.gameSpace);
-        this.scoreboard.renderTitle();
     }
 
     private void onClose() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
+        Koth.LOGGER.debug(
+                "KotH game on {} closed with a peak of {} live arrows; sidebar updates: {} sent, {} suppressed",
+                this.config.map.id,
+                this.arrows.getPeakLiveCount(),
+                this.scoreboard.getEmittedUpdates(),
+                this.scoreboard.getSuppressedUpdates()
+        );
+        this.arrows.clear();
+        this.roundState.reset();
+        this.participants.clear();
+        this.profiler.close();
+
         this.timerBar.ifPresent(KothTimerBar::close);
         if (this.scoreboard != null) {
              this.scoreboard.close();
@@ -205,15 +265,32 @@ public class KothActive {
     }
 
     private void addPlayer(ServerPlayerEntity player) {
-        if (!this.participants.containsKey(player)) {
+        if (this.participants.get(player) == null) {
             this.spawnSpectator(player);
+
+            // Participants who come back keep their scores, and sit out a respawn like they had just died
+            KothPlayer participant = this.participants.reconnect(player);
+            if (participant != null) {
+                player.inventory.clear();
+                this.giveItems(player);
+                this.simulation.rejoin(participant, this.gameSpace.getWorld().getTime());
+                this.feedback.markScoreboard();
+            }
         }
 
         this.timerBar.ifPresent(bar -> bar.addPlayer(player));
     }
 
     private void removePlayer(ServerPlayerEntity player) {
-        this.participants.remove(player);
+        KothPlayer participant = this.participants.disconnect(player);
+        if (participant != null) {
+            this.simulation.remove(participant);
+            this.feedback.markScoreboard();
+        }
+        this.spawnLogic.removePlayer(player);
+        this.roundState.removePlayer(player);
+        this.feedback.removePlayer(player);
+        this.arena.boundsMonitor.forget(player);
         this.timerBar.ifPresent(bar -> bar.removePlayer(player));
     }
 
@@ -245,6 +322,16 @@ public class KothActive {
         return TypedActionResult.pass(ItemStack.EMPTY);
     }
 
+    private ActionResult onUseBlock(ServerPlayerEntity player, Hand hand, BlockHitResult hitResult) {
+        this.arena.blockJournal.record(this.gameSpace.getWorld(), hitResult.getBlockPos());
+        return ActionResult.PASS;
+    }
+
+    private ActionResult onBreakBlock(ServerPlayerEntity player, BlockPos pos) {
+        this.arena.blockJournal.record(this.gameSpace.getWorld(), pos);
+        return ActionResult.PASS;
+    }
+
     private ActionResult onPlayerFireArrow(
             ServerPlayerEntity user,
             ItemStack tool,
@@ -255,6 +342,7 @@ public class KothActive {
         if (this.gameMap.spawn.contains(user.getBlockPos()) && this.config.spawnInvuln) {
             return ActionResult.FAIL;
         } else {
+            this.arrows.track(projectile);
             return ActionResult.PASS;
         }
     }
@@ -264,40 +352,44 @@ public class KothActive {
 
         Inventories.remove(player.inventory, it -> it.getItem() == Items.BOW, 1, false);
         KothPlayer participant = this.participants.get(player);
-        ServerWorld world = this.gameSpace.getWorld();
 
-        if (this.config.deathmatch) {
+        KothPlayer attacker = null;
+        if (participant != null) {
+            if (this.config.rules.mode.isLastStanding() && this.config.creditAssists) {
+                this.simulation.getAssists(participant, time, this.assists);
+            }
+            attacker = this.simulation.eliminate(participant, time);
+        }
+
+        if (this.config.rules.mode.isLastStanding()) {
             PlayerSet players = this.gameSpace.getPlayers();
-            MutableText eliminationMessage = new LiteralText(" has been eliminated by ");
+            MutableText eliminationMessage = new LiteralText("").append(player.getDisplayName());
 
             if (damageSource.getAttacker() != null) {
-                eliminationMessage.append(damageSource.getAttacker().getDisplayName());
-            } else if (participant != null && participant.attacker(time, world) != null) {
-                eliminationMessage.append(participant.attacker(time, world).getDisplayName());
+                eliminationMessage.append(KothTexts.ELIMINATED_BY).append(damageSource.getAttacker().getDisplayName());
+                this.appendAssists(eliminationMessage);
+            } else if (attacker != null) {
+                eliminationMessage.append(KothTexts.ELIMINATED_BY).append(attacker.player.getDisplayName());
+                this.appendAssists(eliminationMessage);
             } else if (damageSource.isFire()) {
-                eliminationMessage.append("taking a swim in lava!");
+                eliminationMessage.append(KothTexts.ELIMINATED_BY).append(KothTexts.SWAM_IN_LAVA);
             } else if (damageSource.isOutOfWorld()) {
-                eliminationMessage.append("staring into the abyss!");
+                eliminationMessage.append(KothTexts.ELIMINATED_BY).append(KothTexts.FELL_INTO_VOID);
             } else {
-                eliminationMessage = new LiteralText(" has been eliminated!");
+                eliminationMessage.append(KothTexts.ELIMINATED);
             }
 
-            players.sendMessage(new LiteralText("").append(player.getDisplayName()).append(eliminationMessage).formatted(Formatting.GOLD));
-            players.sendSound(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP);
-        } else if (this.config.knockoff && !this.gameFinished) {
-            KothPlayer attacker = this.participants.get(participant.attacker(time, world));
-            if (attacker != null) {
-                attacker.score += 1;
-                attacker.player.addExperienceLevels(1);
-                attacker.player.playSound(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, SoundCategory.PLAYERS, 1.0f, 1.0f);
-                if (attacker.score >= this.config.firstTo) {
-                    this.gameFinished = true;
-                    this.stageManager.finishTime = this.gameSpace.getWorld().getTime();
+            players.sendMessage(eliminationMessage.formatted(Formatting.GOLD));
+            this.feedback.broadcastSound(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP);
+        }
 
-                }
-            }
-        } else {
-            this.participants.get(player).deadTime = time;
+        this.assists.clear();
+    }
+
+    private void appendAssists(MutableText message) {
+        for (int i = 0; i < this.assists.size(); i++) {
+            message.append(i == 0 ? KothTexts.FIRST_ASSIST : KothTexts.NEXT_ASSIST);
+            message.append(this.assists.get(i).player.getDisplayName());
         }
     }
 
@@ -307,6 +399,7 @@ public class KothActive {
         }
 
         this.spawnLogic.resetAndRespawn(player, GameMode.ADVENTURE);
+        this.arena.boundsMonitor.forget(player);
     }
 
     private void spawnSpectator(ServerPlayerEntity player) {
@@ -314,226 +407,171 @@ public class KothActive {
     }
 
     private void tick() {
+        long start = System.nanoTime();
+        this.tickPhases(start);
+
+        if (!this.closed) {
+            long flushStart = System.nanoTime();
+            this.feedback.flush();
+            this.profiler.record(KothTickProfiler.Phase.FEEDBACK, flushStart);
+        }
+
+        this.profiler.record(KothTickProfiler.Phase.TOTAL, start);
+    }
+
+    private void tickPhases(long phaseStart) {
         ServerWorld world = this.gameSpace.getWorld();
         long time = world.getTime();
 
-        for (ArrowEntity arrow : world.getEntitiesByType(EntityType.ARROW, this.gameMap.bounds.toBox(), e -> e.inGround)) {
-            arrow.remove();
+        if (this.config.hasBow) {
+            this.arrows.removeLanded();
         }
 
-        boolean overtime = false;
-        int alivePlayers = 0;
-        int playersOnThrone = 0;
+        phaseStart = this.profiler.record(KothTickProfiler.Phase.ARROWS, phaseStart);
 
-        for (ServerPlayerEntity player : this.participants.keySet()) {
-            if (!player.isSpectator()) {
-                alivePlayers += 1;
-            } else {
-                continue;
-            }
+        this.spawnLogic.tick();
 
-            boolean onThrone = this.gameMap.throne.toBox().intersects(player.getBoundingBox());
+        phaseStart = this.profiler.record(KothTickProfiler.Phase.SPAWNS, phaseStart);
 
-            if (onThrone) {
-                playersOnThrone += 1;
-            }
+        Box throneBox = this.gameMap.throneBox;
 
-            if (onThrone && player != this.getWinner()) {
-                overtime = true;
-            }
+        for (KothPlayer state : this.simulation.getContestants()) {
+            ServerPlayerEntity player = state.player;
+            boolean alive = !player.isSpectator();
+
+            this.simulation.setAlive(state, alive);
+            this.simulation.setHeight(state, player.getY());
+            this.simulation.setOnThrone(state, alive && throneBox != null && throneBox.intersects(player.getBoundingBox()));
         }
 
-        overtime |= playersOnThrone != 1;
-        overtime |= this.config.deathmatch && alivePlayers > 1;
-        overtime |= this.config.knockoff;
+        phaseStart = this.profiler.record(KothTickProfiler.Phase.THRONE, phaseStart);
 
-        KothStageManager.TickResult result = this.stageManager.tick(time, gameSpace, overtime, this.gameFinished);
+        KothRound round = this.simulation.getRound();
+        KothRound.TickResult result = this.simulation.tickRound(time, this.gameSpace.getPlayerCount());
 
         switch (result) {
             case CONTINUE_TICK:
                 this.pvpEnabled = true;
-                this.timerBar.ifPresent(bar -> bar.update(this.stageManager.finishTime - time, this.config.timeLimitSecs * 20));
+                this.timerBar.ifPresent(bar -> bar.update(round.getFinishTime() - time, this.config.timeLimitSecs * 20));
                 break;
             case OVERTIME:
-                if (this.overtimeState == OvertimeState.NOT_IN_OVERTIME) {
-                    this.overtimeState = OvertimeState.IN_OVERTIME;
-                    this.gameSpace.getPlayers().sendTitle(new LiteralText("Overtime!"));
-                    this.timerBar.ifPresent(KothTimerBar::setOvertime);
-                } else if (this.overtimeState == OvertimeState.JUST_ENTERED_OVERTIME) {
-                    this.overtimeState = OvertimeState.IN_OVERTIME;
-                }
-
                 break;
-            case NEXT_ROUND:
-                for (ServerPlayerEntity participant : this.participants.keySet()) {
-                    this.spawnParticipant(participant);
-                }
             case TICK_FINISHED_PLAYERS_FROZEN:
+                this.stageManager.tickStartWaiting(time, round.getStartTime(), this.gameSpace);
                 this.pvpEnabled = false;
-            case TICK_FINISHED:
+                this.profiler.record(KothTickProfiler.Phase.STAGE, phaseStart);
                 return;
+            case NEXT_ROUND:
+                this.pvpEnabled = false;
+                this.nextRound();
+            case TICK_FINISHED:
             case ROUND_FINISHED:
-                this.broadcastWin(this.getWinner());
+                this.profiler.record(KothTickProfiler.Phase.STAGE, phaseStart);
                 return;
             case GAME_CLOSED:
-                this.gameSpace.close();
+                if (this.arena.finishMatch()) {
+                    this.onClose();
+                    this.arena.reset();
+                    KothWaiting.reopen(this.arena);
+                } else {
+                    this.gameSpace.close();
+                }
                 return;
         }
 
-        for (ServerPlayerEntity player : this.participants.keySet()) {
-            player.setHealth(20.0f);
-
-            BlockBounds bounds = this.gameMap.bounds;
-            BlockPos pos = player.getBlockPos();
-            if (!bounds.contains(pos)) {
-                BlockPos max = this.gameMap.bounds.getMax();
-                BlockPos playerBoundedY = new BlockPos(pos.getX(), max.getY(), pos.getZ());
-
-                // Allow the player to jump above the bounds but not go out of its x and z bounds
-                boolean justAbove = player.getY() > max.getY() && bounds.contains(playerBoundedY);
-
-                if (player.isSpectator()) {
-                    this.spawnLogic.resetAndRespawn(player, GameMode.SPECTATOR);
-                } else if (!justAbove) {
-                    this.spawnDeadParticipant(player, DamageSource.OUT_OF_WORLD, time);
-                }
-            }
+        phaseStart = this.profiler.record(KothTickProfiler.Phase.STAGE, phaseStart);
 
-            if (this.config.deathmatch) {
-                continue;
-            }
+        for (KothPlayer state : this.simulation.getContestants()) {
+            this.tickBounds(state.player, time);
+        }
 
-            KothPlayer state = this.participants.get(player);
-            assert state != null;
+        phaseStart = this.profiler.record(KothTickProfiler.Phase.BOUNDS, phaseStart);
 
-            if (player.isSpectator()) {
-                this.tickDead(player, state, time);
-                continue;
-            }
+        this.simulation.tickContestants(time);
 
-            if (this.config.winnerTakesAll) {
-                List<KothPlayer> top = this.participants.values().stream()
-                        .sorted(Comparator.comparingDouble(p -> -p.player.getY())) // Descending sort
-                        .limit(1)
-                        .collect(Collectors.toList());
-                this.scoreboard.render(top);
-                continue;
-            } else if (this.config.knockoff) {
-                this.scoreboard.render(this.buildLeaderboard());
-                continue;
-            }
+        this.profiler.record(KothTickProfiler.Phase.SCORING, phaseStart);
 
-            if (this.gameMap.throne.toBox().intersects(player.getBoundingBox()) && time % 20 == 0) {
-                state.score += 1;
-                player.playSound(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, SoundCategory.PLAYERS, 1.0f, 1.0f);
-                player.addExperienceLevels(1);
-                this.scoreboard.render(this.buildLeaderboard());
+        if (this.config.rules.mode.isLastStanding()) {
+            this.scoreboard.setRemaining(this.simulation.getAliveCount());
+            if (this.scoreboard.isRemainingChanged()) {
+                this.feedback.markScoreboard();
             }
         }
-    }
-
-    private void tickDead(ServerPlayerEntity player, KothPlayer state, long time) {
-        int sec = 5 - (int) Math.floor((time - state.deadTime) / 20.0f);
-
-        if (sec > 0 && (time - state.deadTime) % 20 == 0) {
-            Text text = new LiteralText(String.format("Respawning in %ds", sec)).formatted(Formatting.BOLD);
-            player.sendMessage(text, true);
-        }
 
-        if (time - state.deadTime > 5 * 20) {
-            this.spawnParticipant(player);
+        // The ruler is whoever is highest, which changes without any event to say so
+        if (this.config.rules.mode == KothRules.Mode.WINNER_TAKES_ALL) {
+            this.feedback.markScoreboard();
         }
     }
 
-    private List<KothPlayer> buildLeaderboard() {
-        assert !this.config.winnerTakesAll;
-        return this.participants.values().stream()
-                .filter(player -> player.score != 0)
-                .sorted(Comparator.comparingInt(player -> -player.score)) // Descending sort
-                .limit(5)
-                .collect(Collectors.toList());
+    private void nextRound() {
+        Koth.LOGGER.debug(
+                "KotH game on {} finished round {} retaining {} round-scoped entries and {} participants",
+                this.config.map.id,
+                this.roundState.getRound(),
+                this.roundState.getRetainedCount(),
+                this.participants.size()
+        );
+
+        this.roundState.nextRound();
     }
 
-    private void broadcastWin(ServerPlayerEntity winner) {
-        PlayerSet players = this.gameSpace.getPlayers();
-        KothPlayer participant = this.participants.get(winner);
+    private void tickBounds(ServerPlayerEntity player, long time) {
+        player.setHealth(20.0f);
 
-        if (participant != null) {
-            participant.wins++;
+        if (this.arena.boundsMonitor.isOutOfBounds(player)) {
+            if (player.isSpectator()) {
+                this.spawnLogic.resetAndRespawn(player, GameMode.SPECTATOR);
+            } else {
+                this.spawnDeadParticipant(player, DamageSource.OUT_OF_WORLD, time);
+            }
         }
+    }
 
-        String wonThe;
-
-        if (participant == null && this.config.firstTo == 1) {
-            wonThe = "game";
-            this.gameFinished = true;
-        } else if (participant != null && (participant.wins == this.config.firstTo || this.config.knockoff)) {
-            wonThe = "game";
-            this.gameFinished = true;
-        } else {
-            wonThe = "round";
-        }
+    private void broadcastWin(KothPlayer winner, boolean wonGame) {
+        PlayerSet players = this.gameSpace.getPlayers();
 
         if (winner == null) {
-            players.sendMessage(new LiteralText("The ").append(wonThe).append(" ended, but nobody won!").formatted(Formatting.GOLD));
+            players.sendMessage(this.texts.notWon(wonGame));
             players.sendSound(SoundEvents.ENTITY_VILLAGER_NO);
             return;
         }
 
-        if (this.config.deathmatch) {
-            List<KothPlayer> top = this.participants.values().stream()
-                    .sorted(Comparator.comparingDouble(p -> -p.wins)) // Descending sort
-                    .limit(5)
-                    .collect(Collectors.toList());
-            this.scoreboard.render(top);
-        }
+        // Round wins have changed
+        this.feedback.markScoreboard();
 
-
-        Text message = winner.getDisplayName().shallowCopy().append(" has won the ").append(wonThe).append("!").formatted(Formatting.GOLD);
+        Text message = winner.player.getDisplayName().shallowCopy().append(this.texts.won(wonGame)).formatted(Formatting.GOLD);
 
         players.sendMessage(message);
         players.sendSound(SoundEvents.ENTITY_VILLAGER_YES);
     }
 
-    private ServerPlayerEntity getWinner() {
-        if (this.config.deathmatch) {
-            for (ServerPlayerEntity player : this.participants.keySet()) {
-                if (!player.isSpectator()) {
-                    return player;
-                }
-            }
-
-            // No players are alive
-            return null;
+    private final class SimulationListener implements KothSimulation.Listener<KothPlayer> {
+        @Override
+        public void onScored(KothPlayer participant) {
+            KothActive.this.feedback.addLevel(participant.player);
+            KothActive.this.feedback.markScoreboard();
         }
 
-        Map.Entry<ServerPlayerEntity, KothPlayer> winner = null;
-        for (Map.Entry<ServerPlayerEntity, KothPlayer> entry : this.participants.entrySet()) {
-            if (this.config.winnerTakesAll) {
-                if (entry.getKey().isSpectator()) {
-                    continue;
-                }
+        @Override
+        public void onRespawnCountdown(KothPlayer participant, int seconds) {
+            participant.player.sendMessage(KothTexts.respawning(seconds), true);
+        }
 
-                if (winner == null || winner.getKey().getBlockPos().getY() < entry.getKey().getBlockPos().getY() ) {
-                    winner = entry;
-                }
-            } else if (this.config.knockoff) {
-                if (winner == null || entry.getValue().score >= this.config.firstTo ) {
-                    winner = entry;
-                }
-            } else {
-                if (winner == null || winner.getValue().score < entry.getValue().score) {
-                    winner = entry;
-                }
-            }
+        @Override
+        public void onRespawn(KothPlayer participant) {
+            KothActive.this.spawnParticipant(participant.player);
         }
 
-        return winner != null ? winner.getKey() : null;
-    }
+        @Override
+        public void onOvertime() {
+            KothActive.this.gameSpace.getPlayers().sendTitle(KothTexts.OVERTIME);
+            KothActive.this.timerBar.ifPresent(KothTimerBar::setOvertime);
+        }
 
-    enum OvertimeState {
-        NOT_IN_OVERTIME,
-        JUST_ENTERED_OVERTIME,
-        IN_OVERTIME,
+        @Override
+        public void onRoundFinished(KothPlayer winner, boolean wonGame) {
+            KothActive.this.broadcastWin(winner, wonGame);
+        }
     }
 }
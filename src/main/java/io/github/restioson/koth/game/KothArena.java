@@ -0,0 +1,76 @@
+package io.github.restioson.koth.game;
+
+import io.github.restioson.koth.Koth;
+import io.github.restioson.koth.game.map.KothMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import xyz.nucleoid.plasmid.game.GameSpace;
+
+/**
+ * The world a KotH game is played in, which outlives a single match: once a match finishes, the arena is reset and
+ * the players are sent back to its waiting lobby for another, up to {@link KothConfig#matchesPerArena} times. This saves
+ * tearing down the game's world and creating a new one for every match.
+ */
+public final class KothArena {
+    public final GameSpace gameSpace;
+    public final KothMap map;
+    public final KothConfig config;
+    public final KothSpawnLogic spawnLogic;
+    public final KothChunkWarmer chunkWarmer;
+    public final KothBlockJournal blockJournal;
+    public final KothBoundsMonitor boundsMonitor;
+
+    private int matchesPlayed;
+
+    public KothArena(GameSpace gameSpace, KothMap map, KothConfig config) {
+        this.gameSpace = gameSpace;
+        this.map = map;
+        this.config = config;
+        this.spawnLogic = new KothSpawnLogic(gameSpace, map);
+        this.chunkWarmer = new KothChunkWarmer(gameSpace.getWorld(), map.bounds);
+        this.blockJournal = new KothBlockJournal(map.bounds);
+        this.boundsMonitor = KothBoundsMonitor.game(map);
+    }
+
+    public int getMatchesPlayed() {
+        return this.matchesPlayed;
+    }
+
+    /**
+     * Called when a match finishes.
+     *
+     * @return whether the arena should host another match rather than close
+     */
+    public boolean finishMatch() {
+        this.matchesPlayed++;
+        return this.matchesPlayed < this.config.matchesPerArena && !this.gameSpace.getPlayers().isEmpty();
+    }
+
+    /**
+     * Puts the arena back the way it was when it was created: blocks that players touched are restored, dropped items
+     * and projectiles are removed and the time of day is reset.
+     */
+    public void reset() {
+        long start = System.nanoTime();
+        ServerWorld world = this.gameSpace.getWorld();
+
+        int touched = this.blockJournal.size();
+        int restored = this.blockJournal.restore(world);
+
+        for (Entity entity : world.getOtherEntities(null, this.map.bounds.toBox(), entity -> !(entity instanceof PlayerEntity))) {
+            entity.remove();
+        }
+
+        world.setTimeOfDay(this.config.map.time);
+
+        Koth.LOGGER.debug(
+                "Reset KotH arena on {} for match {}: restored {} of {} touched blocks in {}ms",
+                this.config.map.id,
+                this.matchesPlayed + 1,
+                restored,
+                touched,
+                (System.nanoTime() - start) / 1_000_000
+        );
+    }
+}
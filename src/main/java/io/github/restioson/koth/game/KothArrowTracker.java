@@ -0,0 +1,54 @@
+package io.github.restioson.koth.game;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.entity.projectile.PersistentProjectileEntity;
+
+import java.util.List;
+
+/**
+ * Keeps the arrows fired in this game so that landed arrows can be cleaned up without querying the world for every
+ * arrow entity in the map each tick.
+ */
+public final class KothArrowTracker {
+    private final List<PersistentProjectileEntity> arrows = new ObjectArrayList<>();
+    private int peakLiveCount;
+
+    public void track(PersistentProjectileEntity arrow) {
+        this.arrows.add(arrow);
+        this.peakLiveCount = Math.max(this.peakLiveCount, this.arrows.size());
+    }
+
+    /**
+     * Removes every tracked arrow that has landed, and forgets arrows that were removed by other means.
+     */
+    public void removeLanded() {
+        List<PersistentProjectileEntity> arrows = this.arrows;
+
+        for (int i = arrows.size() - 1; i >= 0; i--) {
+            PersistentProjectileEntity arrow = arrows.get(i);
+
+            if (arrow.inGround) {
+                arrow.remove();
+            } else if (!arrow.removed) {
+                continue;
+            }
+
+            // Swap-remove; order doesn't matter
+            int last = arrows.size() - 1;
+            arrows.set(i, arrows.get(last));
+            arrows.remove(last);
+        }
+    }
+
+    public int getLiveCount() {
+        return this.arrows.size();
+    }
+
+    public int getPeakLiveCount() {
+        return this.peakLiveCount;
+    }
+
+    public void clear() {
+        this.arrows.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.restioson.koth.game;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+/**
+ * Remembers the original state of every block that players touch during a match, so that the arena can be put back by
+ * rewriting only those blocks.
+ */
+public final class KothBlockJournal {
+    private final BlockBounds bounds;
+    private final Long2ObjectMap<BlockState> original = new Long2ObjectOpenHashMap<>();
+
+    public KothBlockJournal(BlockBounds bounds) {
+        this.bounds = bounds;
+    }
+
+    /**
+     * Records a block that is about to be changed, along with the blocks around it that it may take with it, such as
+     * the other half of a door.
+     */
+    public void record(ServerWorld world, BlockPos pos) {
+        this.recordOne(world, pos);
+
+        BlockPos.Mutable neighbor = new BlockPos.Mutable();
+        for (Direction direction : Direction.values()) {
+            this.recordOne(world, neighbor.set(pos, direction));
+        }
+    }
+
+    private void recordOne(ServerWorld world, BlockPos pos) {
+        if (!this.bounds.contains(pos)) {
+            return;
+        }
+
+        long key = pos.asLong();
+        if (!this.original.containsKey(key)) {
+            this.original.put(key, world.getBlockState(pos));
+        }
+    }
+
+    /**
+     * Puts every recorded block back to its original state and forgets them.
+     *
+     * @return the number of blocks that had changed
+     */
+    public int restore(ServerWorld world) {
+        int restored = 0;
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (Long2ObjectMap.Entry<BlockState> entry : this.original.long2ObjectEntrySet()) {
+            pos.set(entry.getLongKey());
+
+            BlockState state = entry.getValue();
+            if (world.getBlockState(pos) != state) {
+                world.setBlockState(pos, state);
+                restored++;
+            }
+        }
+
+        this.original.clear();
+        return restored;
+    }
+
+    public int size() {
+        return this.original.size();
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.restioson.koth.game;
+
+import io.github.restioson.koth.game.map.KothKillFloor;
+import io.github.restioson.koth.game.map.KothMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.BlockPos;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+/**
+ * Finds players who have left the map. Each player's block position is remembered once they have been found inside, so
+ * they are only checked again after moving into another block.
+ *
+ * In a game, players may jump above the top of the map, but not out of its sides, and anyone other than a spectator is
+ * out once they fall below the map's kill floor. The waiting lobby holds everyone to the map's bounds.
+ */
+public final class KothBoundsMonitor {
+    private static final long UNCHECKED = Long.MIN_VALUE;
+
+    private final BlockBounds bounds;
+    private final KothKillFloor killFloor; // null in the lobby
+    private final Object2LongOpenHashMap<ServerPlayerEntity> insidePositions = new Object2LongOpenHashMap<>();
+
+    private long checks;
+    private long skippedChecks;
+
+    private KothBoundsMonitor(BlockBounds bounds, KothKillFloor killFloor) {
+        this.bounds = bounds;
+        this.killFloor = killFloor;
+        this.insidePositions.defaultReturnValue(UNCHECKED);
+    }
+
+    public static KothBoundsMonitor lobby(KothMap map) {
+        return new KothBoundsMonitor(map.bounds, null);
+    }
+
+    public static KothBoundsMonitor game(KothMap map) {
+        return new KothBoundsMonitor(map.bounds, map.killFloor);
+    }
+
+    public boolean isOutOfBounds(ServerPlayerEntity player) {
+        BlockPos pos = player.getBlockPos();
+        long packedPos = pos.asLong();
+
+        if (this.insidePositions.getLong(player) == packedPos) {
+            this.skippedChecks++;
+            return false;
+        }
+
+        this.checks++;
+
+        if (this.isOutOfBounds(pos, player.isSpectator())) {
+            // Whoever handles this moves the player, so check them again wherever they end up
+            this.insidePositions.removeLong(player);
+            return true;
+        }
+
+        this.insidePositions.put(player, packedPos);
+        return false;
+    }
+
+    private boolean isOutOfBounds(BlockPos pos, boolean spectator) {
+        if (spectator || this.killFloor == null) {
+            return !this.bounds.contains(pos);
+        }
+
+        BlockPos min = this.bounds.getMin();
+        BlockPos max = this.bounds.getMax();
+
+        int x = pos.getX();
+        int z = pos.getZ();
+        if (x < min.getX() || x > max.getX() || z < min.getZ() || z > max.getZ()) {
+            return true;
+        }
+
+        return pos.getY() <= max.getY() && pos.getY() < this.killFloor.getFloor(x, z);
+    }
+
+    /**
+     * Checks a player again on the next tick, such as when their game mode changes.
+     */
+    public void forget(ServerPlayerEntity player) {
+        this.insidePositions.removeLong(player);
+    }
+
+    public long getChecks() {
+        return this.checks;
+    }
+
+    public long getSkippedChecks() {
+        return this.skippedChecks;
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.restioson.koth.game;
+
+import io.github.restioson.koth.Koth;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.util.Comparator;
+
+/**
+ * Generates and lights every chunk of the map while players wait in the lobby, a few at a time each tick, so that it
+ * doesn't happen when everyone is teleported in at the start of the game. Warmed chunks are kept loaded with a ticket
+ * for as long as the game's world exists.
+ */
+public final class KothChunkWarmer {
+    private static final ChunkTicketType<ChunkPos> TICKET = ChunkTicketType.create("koth_warm", Comparator.comparingLong(ChunkPos::toLong));
+    private static final long TICK_BUDGET_NANOS = 5_000_000;
+
+    private final ServerWorld world;
+    private final long[] chunks;
+    private int warmed;
+
+    private long startTime;
+    private long warmingNanos;
+
+    public KothChunkWarmer(ServerWorld world, BlockBounds bounds) {
+        this.world = world;
+
+        BlockPos min = bounds.getMin();
+        BlockPos max = bounds.getMax();
+        int minX = min.getX() >> 4;
+        int minZ = min.getZ() >> 4;
+        int maxX = max.getX() >> 4;
+        int maxZ = max.getZ() >> 4;
+
+        this.chunks = new long[(maxX - minX + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                this.chunks[i++] = ChunkPos.toLong(x, z);
+            }
+        }
+    }
+
+    /**
+     * Warms chunks until this tick's time budget runs out.
+     */
+    public void tick() {
+        if (this.isDone()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        if (this.warmed == 0) {
+            this.startTime = start;
+        }
+
+        do {
+            ChunkPos pos = new ChunkPos(this.chunks[this.warmed++]);
+            this.world.getChunkManager().addTicket(TICKET, pos, 0, pos);
+            this.world.getChunk(pos.x, pos.z);
+        } while (!this.isDone() && System.nanoTime() - start < TICK_BUDGET_NANOS);
+
+        long now = System.nanoTime();
+        this.warmingNanos += now - start;
+
+        if (this.isDone()) {
+            Koth.LOGGER.debug(
+                    "Warmed {} chunks in {}ms over {}ms",
+                    this.chunks.length,
+                    this.warmingNanos / 1_000_000,
+                    (now - this.startTime) / 1_000_000
+            );
+        }
+    }
+
+    public boolean isDone() {
+        return this.warmed >= this.chunks.length;
+    }
+
+    public int getProgressPercent() {
+        return this.chunks.length == 0 ? 100 : this.warmed * 100 / this.chunks.length;
+    }
+}
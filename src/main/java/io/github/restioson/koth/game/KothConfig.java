@@ -2,6 +2,7 @@ package io.github.restioson.koth.game;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.github.restioson.koth.game.sim.KothRules;
 import net.minecraft.util.Identifier;
 import xyz.nucleoid.plasmid.game.config.PlayerConfig;
 
@@ -17,7 +18,10 @@ public class KothConfig {
             Codec.BOOL.optionalFieldOf("has_feather", false).forGetter(config -> config.hasFeather),
             Codec.BOOL.optionalFieldOf("deathmatch", false).forGetter(config -> config.deathmatch),
             Codec.BOOL.optionalFieldOf("spawn_invulnerability", true).forGetter(config -> config.spawnInvuln),
-            Codec.BOOL.optionalFieldOf("knockoff", false).forGetter(config -> config.knockoff)
+            Codec.BOOL.optionalFieldOf("knockoff", false).forGetter(config -> config.knockoff),
+            Codec.INT.optionalFieldOf("matches_per_arena", 1).forGetter(config -> config.matchesPerArena),
+            Codec.INT.optionalFieldOf("idle_close_secs", 60).forGetter(config -> config.idleCloseSecs),
+            Codec.BOOL.optionalFieldOf("credit_assists", false).forGetter(config -> config.creditAssists)
 
             ).apply(instance, KothConfig::new));
 
@@ -32,6 +36,10 @@ public class KothConfig {
     public final boolean deathmatch;
     public final boolean spawnInvuln;
     public final boolean knockoff;
+    public final int matchesPerArena;
+    public final int idleCloseSecs;
+    public final boolean creditAssists;
+    public final KothRules rules;
 
     public KothConfig(
             PlayerConfig players,
@@ -44,7 +52,10 @@ public class KothConfig {
             boolean hasFeather,
             boolean deathmatch,
             boolean spawnInvuln,
-            boolean knockoff
+            boolean knockoff,
+            int matchesPerArena,
+            int idleCloseSecs,
+            boolean creditAssists
     ) {
         this.playerConfig = players;
         this.map = map;
@@ -57,24 +68,33 @@ public class KothConfig {
         this.deathmatch = deathmatch;
         this.spawnInvuln = spawnInvuln;
         this.knockoff = knockoff;
-
+        this.matchesPerArena = matchesPerArena;
+        this.idleCloseSecs = idleCloseSecs;
+        this.creditAssists = creditAssists;
+        this.rules = new KothRules(timeLimitSecs, firstTo, winnerTakesAll, deathmatch, knockoff, creditAssists);
     }
 
     public static class MapConfig {
         public static final Codec<MapConfig> CODEC = RecordCodecBuilder.create(instance -> instance.group(
                 Identifier.CODEC.fieldOf("id").forGetter(config -> config.id),
                 Codec.INT.fieldOf("spawn_angle").forGetter(config -> config.spawnAngle),
-                Codec.LONG.optionalFieldOf("time", 6000L).forGetter(config -> config.time)
+                Codec.LONG.optionalFieldOf("time", 6000L).forGetter(config -> config.time),
+                Codec.DOUBLE.optionalFieldOf("spawn_separation", 1.0).forGetter(config -> config.spawnSeparation),
+                Codec.BOOL.optionalFieldOf("wait_for_chunks", true).forGetter(config -> config.waitForChunks)
         ).apply(instance, MapConfig::new));
 
         public final Identifier id;
         public final int spawnAngle;
         public final long time;
+        public final double spawnSeparation;
+        public final boolean waitForChunks;
 
-        public MapConfig(Identifier id, int spawnAngle, long time) {
+        public MapConfig(Identifier id, int spawnAngle, long time, double spawnSeparation, boolean waitForChunks) {
             this.id = id;
             this.spawnAngle = spawnAngle;
             this.time = time;
+            this.spawnSeparation = spawnSeparation;
+            this.waitForChunks = waitForChunks;
         }
     }
 }
@@ -0,0 +1,97 @@
+package io.github.restioson.koth.game;
+
+import io.github.restioson.koth.game.sim.KothLeaderboard;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.sound.SoundEvents;
+import xyz.nucleoid.plasmid.game.GameSpace;
+
+import java.util.Set;
+
+/**
+ * Collects the feedback that game events cause over a tick and sends it all at once at the end of the tick, so that
+ * several events in one tick cost each affected player one sound, one experience update and one sidebar update.
+ */
+public final class KothFeedback {
+    private final GameSpace gameSpace;
+    private final KothScoreboard scoreboard;
+    private final KothLeaderboard<KothPlayer> leaderboard;
+
+    private final Object2IntOpenHashMap<ServerPlayerEntity> levels = new Object2IntOpenHashMap<>();
+    private final Set<SoundEvent> broadcastSounds = new ReferenceArraySet<>();
+    private boolean scoreboardChanged;
+
+    private long queuedEvents;
+    private long flushedEffects;
+
+    public KothFeedback(GameSpace gameSpace, KothScoreboard scoreboard, KothLeaderboard<KothPlayer> leaderboard) {
+        this.gameSpace = gameSpace;
+        this.scoreboard = scoreboard;
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Gives a player a level along with a pickup sound.
+     */
+    public void addLevel(ServerPlayerEntity player) {
+        this.levels.addTo(player, 1);
+        this.queuedEvents++;
+    }
+
+    public void broadcastSound(SoundEvent sound) {
+        this.broadcastSounds.add(sound);
+        this.queuedEvents++;
+    }
+
+    /**
+     * Re-renders the sidebar at the end of the tick if the leaderboard has changed.
+     */
+    public void markScoreboard() {
+        this.scoreboardChanged = true;
+    }
+
+    public void removePlayer(ServerPlayerEntity player) {
+        this.levels.removeInt(player);
+    }
+
+    public void flush() {
+        for (SoundEvent sound : this.broadcastSounds) {
+            this.gameSpace.getPlayers().sendSound(sound);
+            this.flushedEffects++;
+        }
+
+        // Everyone already heard the pickup sound if it was broadcast
+        boolean pickupSent = this.broadcastSounds.contains(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP);
+
+        for (Object2IntMap.Entry<ServerPlayerEntity> entry : Object2IntMaps.fastIterable(this.levels)) {
+            ServerPlayerEntity player = entry.getKey();
+            if (!pickupSent) {
+                player.playSound(SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, SoundCategory.PLAYERS, 1.0f, 1.0f);
+            }
+            player.addExperienceLevels(entry.getIntValue());
+            this.flushedEffects++;
+        }
+
+        if (this.scoreboardChanged && (this.leaderboard.update() || this.scoreboard.isRemainingChanged())) {
+            this.scoreboard.render(this.leaderboard);
+            this.flushedEffects++;
+        }
+
+        this.broadcastSounds.clear();
+        this.levels.clear();
+        this.scoreboardChanged = false;
+    }
+
+    public long getQueuedEvents() {
+        return this.queuedEvents;
+    }
+
+    public long getFlushedEffects() {
+        return this.flushedEffects;
+    }
+}
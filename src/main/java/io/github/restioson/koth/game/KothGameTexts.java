@@ -0,0 +1,45 @@
+package io.github.restioson.koth.game;
+
+import net.minecraft.text.LiteralText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+/**
+ * Pre-styled text for a single game, where the wording depends on how that game is configured. Text that is the same
+ * in every game lives in {@link KothTexts}. These must likewise only ever be appended to other text, never modified
+ * themselves.
+ */
+public final class KothGameTexts {
+    private final Text wonRound;
+    private final Text wonGame;
+    private final Text roundNotWon;
+    private final Text gameNotWon;
+
+    public KothGameTexts(KothConfig config) {
+        this.wonGame = new LiteralText(" has won the game!");
+        this.gameNotWon = new LiteralText("The game ended, but nobody won!").formatted(Formatting.GOLD);
+
+        // A game that isn't played in rounds only ever announces the end of the game
+        if (config.rules.mode.isPlayedInRounds()) {
+            this.wonRound = new LiteralText(" has won the round!");
+            this.roundNotWon = new LiteralText("The round ended, but nobody won!").formatted(Formatting.GOLD);
+        } else {
+            this.wonRound = this.wonGame;
+            this.roundNotWon = this.gameNotWon;
+        }
+    }
+
+    /**
+     * @return what follows the winner's name when they win a round, or the whole game
+     */
+    public Text won(boolean wonGame) {
+        return wonGame ? this.wonGame : this.wonRound;
+    }
+
+    /**
+     * @return the message shown when a round, or the whole game, ends without a winner
+     */
+    public Text notWon(boolean wonGame) {
+        return wonGame ? this.gameNotWon : this.roundNotWon;
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.restioson.koth.game;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.util.PlayerRef;
+
+import java.util.Collection;
+
+/**
+ * Every participant of a game, keyed by {@link PlayerRef} so that a player who leaves and comes back gets their old
+ * participant (and so their slot and scores) back. Participants who are currently in the game can also be looked up by
+ * their entity.
+ */
+public final class KothPlayerTable {
+    private final Object2ObjectMap<PlayerRef, KothPlayer> participants = new Object2ObjectOpenHashMap<>();
+    private final Object2ObjectMap<ServerPlayerEntity, KothPlayer> online = new Object2ObjectOpenHashMap<>();
+
+    public KothPlayer add(ServerPlayerEntity player) {
+        KothPlayer participant = new KothPlayer(player);
+        this.participants.put(PlayerRef.of(player), participant);
+        this.online.put(player, participant);
+        return participant;
+    }
+
+    /**
+     * @return the participant the given player was before they left, or null if they weren't one
+     */
+    @Nullable
+    public KothPlayer reconnect(ServerPlayerEntity player) {
+        KothPlayer participant = this.participants.get(PlayerRef.of(player));
+        if (participant != null) {
+            participant.player = player;
+            this.online.put(player, participant);
+        }
+        return participant;
+    }
+
+    @Nullable
+    public KothPlayer disconnect(ServerPlayerEntity player) {
+        return this.online.remove(player);
+    }
+
+    @Nullable
+    public KothPlayer get(ServerPlayerEntity player) {
+        return this.online.get(player);
+    }
+
+    public Collection<KothPlayer> getOnline() {
+        return this.online.values();
+    }
+
+    public int size() {
+        return this.participants.size();
+    }
+
+    public void clear() {
+        this.participants.clear();
+        this.online.clear();
+    }
+}
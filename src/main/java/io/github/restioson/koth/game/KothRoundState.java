@@ -0,0 +1,51 @@
+package io.github.restioson.koth.game;
+
+import io.github.restioson.koth.game.sim.KothSimulation;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * State that only lives for a single round: where frozen players were held, along with the simulation's overtime
+ * state, attack history and pending respawns. All of it is dropped at once when the next round starts or the game
+ * closes, so that nothing keyed by a player outlives the round they were in.
+ */
+public final class KothRoundState {
+    private final KothSimulation<?> simulation;
+    private final Object2ObjectMap<ServerPlayerEntity, Vec3d> frozen = new Object2ObjectOpenHashMap<>();
+    private int round = 1;
+
+    public KothRoundState(KothSimulation<?> simulation) {
+        this.simulation = simulation;
+    }
+
+    public Object2ObjectMap<ServerPlayerEntity, Vec3d> getFrozen() {
+        return this.frozen;
+    }
+
+    public int getRound() {
+        return this.round;
+    }
+
+    public void removePlayer(ServerPlayerEntity player) {
+        this.frozen.remove(player);
+    }
+
+    public void nextRound() {
+        this.reset();
+        this.round++;
+    }
+
+    public void reset() {
+        this.frozen.clear();
+        this.simulation.resetRound();
+    }
+
+    /**
+     * @return the number of frozen positions, attack records and pending respawns currently held
+     */
+    public int getRetainedCount() {
+        return this.frozen.size() + this.simulation.getAttackRecordCount() + this.simulation.getPendingTimerCount();
+    }
+}
@@ -1,72 +1,153 @@
 package io.github.restioson.koth.game;
 
+import io.github.restioson.koth.game.sim.KothContestant;
+import io.github.restioson.koth.game.sim.KothLeaderboard;
+import io.github.restioson.koth.game.sim.KothRules;
 import net.minecraft.text.LiteralText;
 import net.minecraft.util.Formatting;
 import xyz.nucleoid.plasmid.widget.GlobalWidgets;
 import xyz.nucleoid.plasmid.widget.SidebarWidget;
 
-import java.util.List;
-
 public class KothScoreboard implements AutoCloseable {
     private final SidebarWidget sidebar;
-    private final boolean winnerTakesAll;
-    private final boolean deathMatch;
-    private final boolean knockoff;
+    private final Line line;
+
+    // What was last sent to the sidebar, so that unchanged lines aren't re-formatted and unchanged content isn't resent
+    private final KothPlayer[] renderedEntries = new KothPlayer[KothLeaderboard.MAX_ENTRIES];
+    private final int[] renderedValues = new int[KothLeaderboard.MAX_ENTRIES];
+    private final String[] renderedLines = new String[KothLeaderboard.MAX_ENTRIES];
+    private int renderedCount;
+
+    // How many players are left standing in deathmatch, or -1 if it isn't shown
+    private int remaining = -1;
+    private int renderedRemaining = -1;
+
+    private long emittedUpdates;
+    private long suppressedUpdates;
 
-    public KothScoreboard(GlobalWidgets widgets, String name, boolean wta, boolean dm, boolean ko) {
+    public KothScoreboard(GlobalWidgets widgets, String name, KothRules.Mode mode) {
         this.sidebar = widgets.addSidebar(
                 new LiteralText(name).formatted(Formatting.BLUE, Formatting.BOLD)
         );
-        this.winnerTakesAll = wta;
-        this.deathMatch = dm;
-        this.knockoff = ko;
+        this.line = Line.of(mode);
     }
 
     public void renderTitle() {
+        this.renderedCount = 0;
+        this.renderedRemaining = -1;
+        this.emittedUpdates++;
         this.sidebar.set(content -> {
         });
     }
 
-    public void render(List<KothPlayer> leaderboard) {
+    public void setRemaining(int remaining) {
+        this.remaining = remaining;
+    }
+
+    public boolean isRemainingChanged() {
+        return this.remaining != this.renderedRemaining;
+    }
+
+    public void render(KothLeaderboard<KothPlayer> leaderboard) {
+        int count = leaderboard.size();
+        boolean changed = count != this.renderedCount || this.isRemainingChanged();
+
+        for (int i = 0; i < count; i++) {
+            KothPlayer entry = leaderboard.get(i);
+            int value = this.line.valueOf(entry);
+
+            if (this.renderedEntries[i] != entry || this.renderedValues[i] != value || this.renderedLines[i] == null) {
+                this.renderedEntries[i] = entry;
+                this.renderedValues[i] = value;
+                this.renderedLines[i] = this.line.format(entry.player.getEntityName(), value);
+                changed = true;
+            }
+        }
+
+        for (int i = count; i < this.renderedCount; i++) {
+            this.renderedEntries[i] = null;
+            this.renderedLines[i] = null;
+        }
+
+        this.renderedCount = count;
+        this.renderedRemaining = this.remaining;
+
+        if (!changed) {
+            this.suppressedUpdates++;
+            return;
+        }
+
+        this.emittedUpdates++;
         this.sidebar.set(content -> {
-            for (KothPlayer entry : leaderboard) {
-                String line;
-
-                if (this.winnerTakesAll) {
-                    line = String.format("Ruler: %s%s%s", Formatting.AQUA, entry.player.getEntityName(), Formatting.RESET);
-                } else if (this.deathMatch) {
-                    line = String.format(
-                            "%s%s%s: %d rounds",
-                            Formatting.AQUA,
-                            entry.player.getEntityName(),
-                            Formatting.RESET,
-                            entry.wins
-                    );
-                } else if (this.knockoff) {
-                    line = String.format(
-                            "%s%s%s: %d points",
-                            Formatting.AQUA,
-                            entry.player.getEntityName(),
-                            Formatting.RESET,
-                            entry.score
-                    );
-                } else {
-                    line = String.format(
-                            "%s%s%s: %ds",
-                            Formatting.AQUA,
-                            entry.player.getEntityName(),
-                            Formatting.RESET,
-                            entry.score
-                    );
-                }
-
-                content.writeLine(line);
+            for (int i = 0; i < this.renderedCount; i++) {
+                content.writeLine(this.renderedLines[i]);
+            }
+
+            if (this.renderedRemaining >= 0) {
+                content.writeLine("");
+                content.writeLine(String.format("%s%d%s remaining", Formatting.AQUA, this.renderedRemaining, Formatting.RESET));
             }
         });
     }
 
+    public long getEmittedUpdates() {
+        return this.emittedUpdates;
+    }
+
+    public long getSuppressedUpdates() {
+        return this.suppressedUpdates;
+    }
 
     public void close() {
         this.sidebar.close();
     }
+
+    /**
+     * How a leaderboard entry is written on the sidebar for each game mode.
+     */
+    public enum Line {
+        RULER,
+        ROUNDS,
+        POINTS,
+        SECONDS;
+
+        public static Line of(KothRules.Mode mode) {
+            switch (mode) {
+                case WINNER_TAKES_ALL:
+                    return RULER;
+                case DEATHMATCH:
+                    return ROUNDS;
+                case KNOCKOFF:
+                    return POINTS;
+                case THRONE:
+                default:
+                    return SECONDS;
+            }
+        }
+
+        public int valueOf(KothContestant entry) {
+            switch (this) {
+                case RULER:
+                    return 0;
+                case ROUNDS:
+                    return entry.getWins();
+                default:
+                    return entry.getScore();
+            }
+        }
+
+        public String format(String name, int value) {
+            switch (this) {
+                case RULER:
+                    return String.format("Ruler: %s%s%s", Formatting.AQUA, name, Formatting.RESET);
+                case ROUNDS:
+                    return String.format("%s%s%s: %d rounds", Formatting.AQUA, name, Formatting.RESET, value);
+                case POINTS:
+                    return String.format("%s%s%s: %d points", Formatting.AQUA, name, Formatting.RESET, value);
+                case SECONDS:
+                default:
+                    return String.format("%s%s%s: %ds", Formatting.AQUA, name, Formatting.RESET, value);
+            }
+        }
+    }
 }
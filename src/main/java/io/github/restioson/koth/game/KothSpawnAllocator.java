@@ -0,0 +1,95 @@
+package io.github.restioson.koth.game;
+
+import io.github.restioson.koth.game.map.KothMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Hands out the map's spawn slots so that players spawning at the same time don't land inside each other. A slot stays
+ * taken until its player walks away from it, leaves, or becomes a spectator. If every slot is taken, players fall back
+ * to a random point on the spawn.
+ */
+public final class KothSpawnAllocator {
+    private final KothMap map;
+    private final double releaseDistanceSq;
+
+    private final IntArrayList free;
+    private final Object2IntMap<ServerPlayerEntity> taken = new Object2IntOpenHashMap<>();
+
+    private long fallbacks;
+
+    public KothSpawnAllocator(KothMap map) {
+        this.map = map;
+        this.releaseDistanceSq = map.spawnSeparation * map.spawnSeparation;
+
+        this.free = new IntArrayList(map.spawnSlots.length);
+        for (int slot = map.spawnSlots.length - 1; slot >= 0; slot--) {
+            this.free.add(slot);
+        }
+
+        this.taken.defaultReturnValue(-1);
+    }
+
+    public Vec3d allocate(ServerPlayerEntity player) {
+        this.release(player);
+
+        if (this.free.isEmpty()) {
+            this.fallbacks++;
+            return this.map.spawnColumns.pick(player.getRandom());
+        }
+
+        // Swap-remove a random free slot
+        int index = player.getRandom().nextInt(this.free.size());
+        int slot = this.free.getInt(index);
+        this.free.set(index, this.free.getInt(this.free.size() - 1));
+        this.free.removeInt(this.free.size() - 1);
+
+        this.taken.put(player, slot);
+        return this.map.spawnSlots[slot];
+    }
+
+    public void release(ServerPlayerEntity player) {
+        int slot = this.taken.removeInt(player);
+        if (slot != -1) {
+            this.free.add(slot);
+        }
+    }
+
+    /**
+     * Frees the slots of players who are no longer standing on them.
+     */
+    public void tick() {
+        if (this.taken.isEmpty()) {
+            return;
+        }
+
+        ObjectIterator<Object2IntMap.Entry<ServerPlayerEntity>> iterator = this.taken.object2IntEntrySet().iterator();
+        while (iterator.hasNext()) {
+            Object2IntMap.Entry<ServerPlayerEntity> entry = iterator.next();
+            ServerPlayerEntity player = entry.getKey();
+            int slot = entry.getIntValue();
+            Vec3d pos = this.map.spawnSlots[slot];
+
+            double dx = player.getX() - pos.x;
+            double dz = player.getZ() - pos.z;
+
+            if (player.removed || player.isSpectator() || dx * dx + dz * dz >= this.releaseDistanceSq) {
+                // Removing the entry invalidates it, so its slot has to be read first
+                iterator.remove();
+                this.free.add(slot);
+            }
+        }
+    }
+
+    public int getTakenCount() {
+        return this.taken.size();
+    }
+
+    public long getFallbackCount() {
+        return this.fallbacks;
+    }
+}
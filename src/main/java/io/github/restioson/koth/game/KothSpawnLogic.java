@@ -5,25 +5,39 @@ import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.GameMode;
 import xyz.nucleoid.plasmid.game.GameSpace;
-import xyz.nucleoid.plasmid.util.BlockBounds;
 
 public class KothSpawnLogic {
     private final GameSpace gameSpace;
     private final KothMap map;
+    private final KothSpawnAllocator allocator;
 
     public KothSpawnLogic(GameSpace gameSpace, KothMap map) {
         this.gameSpace = gameSpace;
         this.map = map;
+        this.allocator = new KothSpawnAllocator(map);
     }
 
     public void resetAndRespawn(ServerPlayerEntity player, GameMode gameMode) {
         this.resetPlayer(player, gameMode);
-        this.spawnPlayer(player);
+        this.spawnPlayer(player, gameMode);
+    }
+
+    /**
+     * Frees up the spawn slots of players who have moved off them.
+     */
+    public void tick() {
+        this.allocator.tick();
+    }
+
+    public void removePlayer(ServerPlayerEntity player) {
+        this.allocator.release(player);
+    }
+
+    public KothSpawnAllocator getAllocator() {
+        return this.allocator;
     }
 
     private void resetPlayer(ServerPlayerEntity player, GameMode gameMode) {
@@ -41,28 +55,19 @@ public class KothSpawnLogic {
         ));
     }
 
-    private void spawnPlayer(ServerPlayerEntity player) {
+    private void spawnPlayer(ServerPlayerEntity player, GameMode gameMode) {
         ServerWorld world = this.gameSpace.getWorld();
 
-        BlockBounds bounds = this.map.spawn;
-        BlockPos min = bounds.getMin();
-        BlockPos max = bounds.getMax();
-
-        boolean validSpawn = false;
-
-        double x = 0;
-        double z = 0;
-
-        while (!validSpawn) {
-            x = MathHelper.nextDouble(player.getRandom(), min.getX(), max.getX());
-            z = MathHelper.nextDouble(player.getRandom(), min.getZ(), max.getZ());
-
-            validSpawn = (!world.getBlockState(new BlockPos(x, min.getY(), z)).isAir()) ||
-                    (!world.getBlockState(new BlockPos(x, min.getY() - 1, z)).isAir()) ||
-                    (!world.getBlockState(new BlockPos(x, min.getY() - 2, z)).isAir());
+        // Spectators can't collide, so they don't need a slot of their own
+        Vec3d spawn;
+        if (gameMode == GameMode.SPECTATOR) {
+            this.allocator.release(player);
+            spawn = this.map.spawnColumns.pick(player.getRandom());
+        } else {
+            spawn = this.allocator.allocate(player);
         }
 
-        player.teleport(world, x, min.getY(), z, this.map.spawnAngle, 0.0F);
+        player.teleport(world, spawn.x, spawn.y, spawn.z, this.map.spawnAngle, 0.0F);
         player.networkHandler.syncWithPlayerPosition();
     }
 }
@@ -2,7 +2,6 @@ package io.github.restioson.koth.game;
 
 import com.google.common.collect.ImmutableSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.network.packet.s2c.play.PlayerPositionLookS2CPacket.Flag;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.sound.SoundCategory;
@@ -20,47 +19,50 @@ import java.util.List;
 import java.util.Set;
 
 public class KothStageManager {
+    // Set X and Y as relative so it will send 0 change when we pass yaw (yaw - yaw = 0) and pitch
+    private static final Set<Flag> FREEZE_FLAGS = ImmutableSet.of(Flag.X_ROT, Flag.Y_ROT);
+    // How far a frozen player may drift before being teleported back
+    private static final double FREEZE_DRIFT_SQ = 0.1 * 0.1;
+
     private final KothConfig config;
-    private long closeTime = -1;
-    public long finishTime = -1;
-    private long startTime = -1;
-    private final Object2ObjectMap<ServerPlayerEntity, FrozenPlayer> frozen;
+    private final KothRoundState roundState;
+    private long freezeTeleports;
 
-    public KothStageManager(KothConfig config) {
+    public KothStageManager(KothConfig config, KothRoundState roundState) {
         this.config = config;
-        this.frozen = new Object2ObjectOpenHashMap<>();
-    }
-
-    private void start(long time) {
-        this.startTime = time - (time % 20) + (4 * 20) + 19;
-        this.finishTime = this.startTime + (config.timeLimitSecs * 20);
-        this.closeTime = -1;
+        this.roundState = roundState;
     }
 
-    public void onOpen(long time, KothConfig config, GameSpace space) {
+    public void onOpen(KothConfig config, GameSpace space) {
         String line1 = "King of the Hill - get to the top of the hill and knock off others to win!";
         String line2;
 
-        if (config.deathmatch) {
-            line1 = "King of the Hill Deathmatch! - knock off other players and stay on the platform!";
-            line2 = "The last player standing wins!";
-        } else if (config.knockoff) {
-            line1 = "King of the Hill Knock Off! - knock off other players and stay on the platform!";
-            line2 = "Score points by knocking everyone from the platform!\n" +
-                    "First player with " + config.firstTo + " points wins!";
-        } else if (!config.winnerTakesAll) {
-            line2 = "Score points by staying on top of the hill. Whoever reigns longest wins!\n" +
-                    "If someone who is not the point-score leader is on the throne by the end, then the game will enter\n" +
-                    " overtime until they become the ruler or are knocked off.";
-        } else {
-            line2 = "Whoever is on the throne when the game ends wins!\n"
-                    + "If there are multiple people on the throne by the end, then the game will enter overtime.";
+        switch (config.rules.mode) {
+            case DEATHMATCH:
+                line1 = "King of the Hill Deathmatch! - knock off other players and stay on the platform!";
+                line2 = "The last player standing wins!";
+                break;
+            case KNOCKOFF:
+                line1 = "King of the Hill Knock Off! - knock off other players and stay on the platform!";
+                line2 = "Score points by knocking everyone from the platform!\n" +
+                        "First player with " + config.firstTo + " points wins!";
+                break;
+            case THRONE:
+                line2 = "Score points by staying on top of the hill. Whoever reigns longest wins!\n" +
+                        "If someone who is not the point-score leader is on the throne by the end, then the game will enter\n" +
+                        " overtime until they become the ruler or are knocked off.";
+                break;
+            case WINNER_TAKES_ALL:
+            default:
+                line2 = "Whoever is on the throne when the game ends wins!\n"
+                        + "If there are multiple people on the throne by the end, then the game will enter overtime.";
+                break;
         }
 
         List<String> lines = new ArrayList<>();
         Collections.addAll(lines, line1, line2);
 
-        if (this.config.firstTo != 1 && !this.config.knockoff) {
+        if (this.config.firstTo != 1 && this.config.rules.mode.isPlayedInRounds()) {
             lines.add("The game's winner will be whoever wins " + this.config.firstTo + " rounds first.");
         }
 
@@ -74,119 +76,53 @@ public class KothStageManager {
                 player.sendMessage(text, false);
             }
         }
-
-        this.start(time);
-    }
-
-    public TickResult tick(long time, GameSpace space, boolean overtime, boolean gameFinished) {
-        // Game has finished. Wait a few seconds before finally closing the game.
-        if (this.closeTime > 0) {
-            if (time >= this.closeTime) {
-                if (gameFinished) {
-                    return TickResult.GAME_CLOSED;
-                } else {
-                    this.start(time); // Restart
-                    return TickResult.NEXT_ROUND;
-                }
-            }
-            return TickResult.TICK_FINISHED;
-        }
-
-        // Game hasn't started yet. Display a countdown before it begins.
-        if (this.startTime > time) {
-            this.tickStartWaiting(time, space);
-            return TickResult.TICK_FINISHED;
-        }
-
-        if (this.config.knockoff && gameFinished && this.closeTime == -1) {
-            this.closeTime = time + (4 * 20);
-            return TickResult.ROUND_FINISHED;
-        }
-
-        boolean noPlayers = space.getPlayerCount() == 0;
-        if (this.config.deathmatch) {
-            int remainingPlayers = 0;
-            for (ServerPlayerEntity player : space.getPlayers()) {
-                if (!player.isSpectator()) {
-                    remainingPlayers++;
-                }
-            }
-
-            if (remainingPlayers <= 1) {
-                noPlayers = true;
-            }
-        }
-
-        // Game has just finished. Transition to the waiting-before-close state.
-        if (time > this.finishTime || noPlayers) {
-            if (!overtime) {
-                this.closeTime = time + (2 * 20);
-                return TickResult.ROUND_FINISHED;
-            } else if (!this.config.deathmatch && !this.config.knockoff) {
-                return TickResult.OVERTIME;
-            } else if (noPlayers) { // Both eliminated at once
-                this.closeTime = time + (2 * 20);
-                return TickResult.ROUND_FINISHED;
-            }
-        }
-
-        return TickResult.CONTINUE_TICK;
     }
 
-    private void tickStartWaiting(long time, GameSpace space) {
-        float sec_f = (this.startTime - time) / 20.0f;
+    public void tickStartWaiting(long time, long startTime, GameSpace space) {
+        float sec_f = (startTime - time) / 20.0f;
 
         if (sec_f > 1) {
+            Object2ObjectMap<ServerPlayerEntity, Vec3d> frozen = this.roundState.getFrozen();
             for (ServerPlayerEntity player : space.getPlayers()) {
                 if (player.isSpectator()) {
                     continue;
                 }
 
-                FrozenPlayer state = this.frozen.computeIfAbsent(player, p -> new FrozenPlayer());
-
-                if (state.lastPos == null) {
-                    state.lastPos = player.getPos();
+                Vec3d frozenPos = frozen.get(player);
+                if (frozenPos == null) {
+                    frozen.put(player, player.getPos());
+                    continue;
                 }
 
-                double destX = state.lastPos.x;
-                double destY = state.lastPos.y;
-                double destZ = state.lastPos.z;
-
-                // Set X and Y as relative so it will send 0 change when we pass yaw (yaw - yaw = 0) and pitch
-                Set<Flag> flags = ImmutableSet.of(Flag.X_ROT, Flag.Y_ROT);
-
-                // Teleport without changing the pitch and yaw
-                player.networkHandler.teleportRequest(destX, destY, destZ, player.yaw, player.pitch, flags);
+                // Only pull back players who have actually moved, rather than sending everyone a teleport every tick
+                if (player.squaredDistanceTo(frozenPos) > FREEZE_DRIFT_SQ) {
+                    // Teleport without changing the pitch and yaw
+                    player.networkHandler.teleportRequest(frozenPos.x, frozenPos.y, frozenPos.z, player.yaw, player.pitch, FREEZE_FLAGS);
+                    this.freezeTeleports++;
+                }
             }
         }
 
         int sec = (int) Math.floor(sec_f) - 1; // -1 because of "Go"
 
         PlayerSet players = space.getPlayers();
-        if ((this.startTime - time) % 20 == 0) {
+        if ((startTime - time) % 20 == 0) {
             if (sec > 0) {
-                players.sendTitle(new LiteralText(Integer.toString(sec)).formatted(Formatting.BOLD));
+                players.sendTitle(KothTexts.countdown(sec));
                 players.sendSound(SoundEvents.BLOCK_NOTE_BLOCK_HARP, SoundCategory.PLAYERS, 1.0F, 1.0F);
             } else {
-                players.sendTitle(new LiteralText("Go!").formatted(Formatting.BOLD));
+                players.sendTitle(KothTexts.GO);
                 players.sendSound(SoundEvents.BLOCK_NOTE_BLOCK_HARP, SoundCategory.PLAYERS, 1.0F, 2.0F);
+
+                // Everyone is free to move now
+                this.roundState.getFrozen().clear();
             }
         }
 
         // 20 more ticks of invulnerability after this
     }
 
-    public static class FrozenPlayer {
-        public Vec3d lastPos;
-    }
-
-    public enum TickResult {
-        CONTINUE_TICK,
-        TICK_FINISHED,
-        TICK_FINISHED_PLAYERS_FROZEN,
-        NEXT_ROUND,
-        ROUND_FINISHED,
-        GAME_CLOSED,
-        OVERTIME,
+    public long getFreezeTeleports() {
+        return this.freezeTeleports;
     }
 }
@@ -0,0 +1,65 @@
+package io.github.restioson.koth.game;
+
+import io.github.restioson.koth.game.sim.KothSimulation;
+import net.minecraft.text.LiteralText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+/**
+ * Pre-styled text that is sent over and over while a game is running, and is the same in every game. Text that depends
+ * on a game's configuration is built per game, by {@link KothGameTexts} and {@link KothTimerBar}. These must only ever
+ * be appended to other text, never modified themselves.
+ */
+public final class KothTexts {
+    private static final int MAX_COUNTDOWN = 9;
+
+    public static final Text GO = new LiteralText("Go!").formatted(Formatting.BOLD);
+    public static final Text OVERTIME = new LiteralText("Overtime!");
+
+    public static final Text ELIMINATED_BY = new LiteralText(" has been eliminated by ");
+    public static final Text ELIMINATED = new LiteralText(" has been eliminated!");
+    public static final Text SWAM_IN_LAVA = new LiteralText("taking a swim in lava!");
+    public static final Text FELL_INTO_VOID = new LiteralText("staring into the abyss!");
+    public static final Text FIRST_ASSIST = new LiteralText(" with help from ");
+    public static final Text NEXT_ASSIST = new LiteralText(", ");
+
+    private static final Text[] COUNTDOWN = new Text[MAX_COUNTDOWN + 1];
+    private static final Text[] RESPAWNING = new Text[KothSimulation.RESPAWN_SECS + 1];
+
+    static {
+        for (int sec = 0; sec < COUNTDOWN.length; sec++) {
+            COUNTDOWN[sec] = new LiteralText(Integer.toString(sec)).formatted(Formatting.BOLD);
+        }
+
+        for (int sec = 0; sec < RESPAWNING.length; sec++) {
+            RESPAWNING[sec] = respawningText(sec);
+        }
+    }
+
+    private KothTexts() {
+    }
+
+    /**
+     * @return the title shown for a second of the countdown before a round starts
+     */
+    public static Text countdown(int sec) {
+        if (sec >= 0 && sec < COUNTDOWN.length) {
+            return COUNTDOWN[sec];
+        }
+        return new LiteralText(Integer.toString(sec)).formatted(Formatting.BOLD);
+    }
+
+    /**
+     * @return the action bar message shown to a dead player while they wait to respawn
+     */
+    public static Text respawning(int sec) {
+        if (sec >= 0 && sec < RESPAWNING.length) {
+            return RESPAWNING[sec];
+        }
+        return respawningText(sec);
+    }
+
+    private static Text respawningText(int sec) {
+        return new LiteralText("Respawning in " + sec + "s").formatted(Formatting.BOLD);
+    }
+}
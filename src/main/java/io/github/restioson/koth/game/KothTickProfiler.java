@@ -0,0 +1,210 @@
+package io.github.restioson.koth.game;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Always-on timing of the phases of a game tick. Each phase records into a fixed-size log-linear histogram so that
+ * recording never allocates; percentiles are reported as the upper bound of the bucket they fall in, which is within
+ * 25% of the real value.
+ *
+ * Profilers for running games are kept in a global list so that they can be inspected with {@code /koth perf}.
+ */
+public final class KothTickProfiler {
+    private static final List<KothTickProfiler> ACTIVE = new ObjectArrayList<>();
+    private static int nextId;
+
+    private final String name;
+    private final Histogram[] histograms;
+    private final List<Counter> counters = new ObjectArrayList<>();
+
+    private KothTickProfiler(String name) {
+        this.name = name;
+
+        Phase[] phases = Phase.values();
+        this.histograms = new Histogram[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            this.histograms[i] = new Histogram();
+        }
+    }
+
+    public static KothTickProfiler open(String arena) {
+        KothTickProfiler profiler = new KothTickProfiler(arena + " #" + nextId++);
+        ACTIVE.add(profiler);
+        return profiler;
+    }
+
+    public static List<KothTickProfiler> getActive() {
+        return Collections.unmodifiableList(ACTIVE);
+    }
+
+    public void close() {
+        ACTIVE.remove(this);
+    }
+
+    /**
+     * Records the time elapsed in a phase.
+     *
+     * @param phase the phase that just finished
+     * @param start the {@link System#nanoTime()} at which the phase started
+     * @return the current {@link System#nanoTime()}, to be used as the start of the next phase
+     */
+    public long record(Phase phase, long start) {
+        long now = System.nanoTime();
+        this.histograms[phase.ordinal()].record(now - start);
+        return now;
+    }
+
+    /**
+     * Exposes a game statistic alongside the phase timings.
+     */
+    public void addCounter(String name, LongSupplier value) {
+        this.counters.add(new Counter(name, value));
+    }
+
+    public void reset() {
+        for (Histogram histogram : this.histograms) {
+            histogram.reset();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Histogram get(Phase phase) {
+        return this.histograms[phase.ordinal()];
+    }
+
+    public List<Counter> getCounters() {
+        return this.counters;
+    }
+
+    public enum Phase {
+        ARROWS("arrows"),
+        SPAWNS("spawns"),
+        THRONE("throne"),
+        STAGE("stage"),
+        BOUNDS("bounds"),
+        SCORING("scoring"),
+        FEEDBACK("feedback"),
+        TOTAL("total");
+
+        public final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+    }
+
+    public static final class Counter {
+        public final String name;
+        private final LongSupplier value;
+
+        Counter(String name, LongSupplier value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        public long get() {
+            return this.value.getAsLong();
+        }
+    }
+
+    /**
+     * A histogram of nanosecond durations. Values are bucketed by their highest set bit, with each power of two split
+     * into {@link #SUB_BUCKETS} linear sub-buckets.
+     */
+    public static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final long[] counts = new long[BUCKETS];
+        private long count;
+        private long total;
+        private long max;
+
+        void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+
+            this.counts[bucketOf(nanos)]++;
+            this.count++;
+            this.total += nanos;
+            if (nanos > this.max) {
+                this.max = nanos;
+            }
+        }
+
+        void reset() {
+            Arrays.fill(this.counts, 0);
+            this.count = 0;
+            this.total = 0;
+            this.max = 0;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getMax() {
+            return this.max;
+        }
+
+        public long getMean() {
+            return this.count == 0 ? 0 : this.total / this.count;
+        }
+
+        public long getPercentile(double percentile) {
+            if (this.count == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(this.count * percentile / 100.0);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += this.counts[bucket];
+                if (seen >= target) {
+                    return Math.min(upperBoundOf(bucket), this.max);
+                }
+            }
+
+            return this.max;
+        }
+
+        public int getBucketCount() {
+            return BUCKETS;
+        }
+
+        public long getBucket(int bucket) {
+            return this.counts[bucket];
+        }
+
+        public static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+
+            int shift = bucket / SUB_BUCKETS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            long lowerBound = (SUB_BUCKETS + sub) << shift;
+            return lowerBound + (1L << shift) - 1;
+        }
+
+        private static int bucketOf(long nanos) {
+            if (nanos < SUB_BUCKETS) {
+                return (int) nanos;
+            }
+
+            int shift = 63 - SUB_BUCKET_BITS - Long.numberOfLeadingZeros(nanos);
+            int sub = (int) (nanos >>> shift) - SUB_BUCKETS;
+            return (shift + 1) * SUB_BUCKETS + sub;
+        }
+    }
+}
@@ -8,8 +8,15 @@ import net.minecraft.text.Text;
 
 public final class KothTimerBar implements AutoCloseable {
     private final ServerBossBar bar;
+    // The text for each whole second that can be left in a round
+    private final Text[] timeLeft;
+
+    public KothTimerBar(int timeLimitSecs) {
+        this.timeLeft = new Text[timeLimitSecs + 1];
+        for (int sec = 0; sec < this.timeLeft.length; sec++) {
+            this.timeLeft[sec] = formatTimeLeft(sec);
+        }
 
-    public KothTimerBar() {
         LiteralText title = new LiteralText("Waiting for the game to start...");
 
         this.bar = new ServerBossBar(title, BossBar.Color.GREEN, BossBar.Style.NOTCHED_10);
@@ -35,12 +42,18 @@ public final class KothTimerBar implements AutoCloseable {
 
     public void setOvertime() {
         this.bar.setPercent(1.0f);
-        this.bar.setName(new LiteralText("Overtime!"));
+        this.bar.setName(KothTexts.OVERTIME);
     }
 
     private Text getText(long ticksUntilEnd) {
         long secondsUntilEnd = ticksUntilEnd / 20;
+        if (secondsUntilEnd >= 0 && secondsUntilEnd < this.timeLeft.length) {
+            return this.timeLeft[(int) secondsUntilEnd];
+        }
+        return formatTimeLeft(secondsUntilEnd);
+    }
 
+    private static Text formatTimeLeft(long secondsUntilEnd) {
         long minutes = secondsUntilEnd / 60;
         long seconds = secondsUntilEnd % 60;
         String time = String.format("%02d:%02d left", minutes, seconds);
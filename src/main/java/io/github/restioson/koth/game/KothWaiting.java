@@ -5,6 +5,7 @@ import io.github.restioson.koth.game.map.KothMapBuilder;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.LiteralText;
+import net.minecraft.text.Text;
 import net.minecraft.util.ActionResult;
 import net.minecraft.world.GameMode;
 import xyz.nucleoid.fantasy.BubbleWorldConfig;
@@ -12,24 +13,32 @@ import xyz.nucleoid.plasmid.game.*;
 import xyz.nucleoid.plasmid.game.event.*;
 
 public class KothWaiting {
+    private final KothArena arena;
     private final GameSpace gameSpace;
-    private final KothMap map;
     private final KothConfig config;
     private final KothSpawnLogic spawnLogic;
-
-    private KothWaiting(GameSpace gameSpace, KothMap map, KothConfig config) {
-        this.gameSpace = gameSpace;
-        this.map = map;
-        this.config = config;
-        this.spawnLogic = new KothSpawnLogic(gameSpace, map);
+    private final KothChunkWarmer chunkWarmer;
+    private final KothBoundsMonitor boundsMonitor;
+
+    private long idleTicks;
+
+    private KothWaiting(KothArena arena) {
+        this.arena = arena;
+        this.gameSpace = arena.gameSpace;
+        this.config = arena.config;
+        this.spawnLogic = arena.spawnLogic;
+        this.chunkWarmer = arena.chunkWarmer;
+        this.boundsMonitor = KothBoundsMonitor.lobby(arena.map);
     }
 
     public static GameOpenProcedure open(GameOpenContext<KothConfig> context) {
         KothConfig config = context.getConfig();
         KothMapBuilder generator = new KothMapBuilder(context.getConfig().map);
+
+        // The template is usually already prefetched, but if not it is loaded on the map loader thread and this waits
         KothMap map = generator.create();
 
-        if (!config.winnerTakesAll && map.throne == null) {
+        if (config.rules.mode.needsThrone() && map.throne == null) {
             throw new GameOpenException(new LiteralText("throne must exist if winner doesn't take all"));
         }
 
@@ -38,29 +47,80 @@ public class KothWaiting {
                 .setDefaultGameMode(GameMode.SPECTATOR);
 
         return context.createOpenProcedure(worldConfig, game -> {
-            KothWaiting waiting = new KothWaiting(game.getSpace(), map, context.getConfig());
-
-            GameWaitingLobby.applyTo(game, config.playerConfig);
-
-            game.on(RequestStartListener.EVENT, waiting::requestStart);
-            game.on(GameTickListener.EVENT, waiting::tick);
-            game.on(PlayerAddListener.EVENT, waiting::addPlayer);
-            game.on(PlayerDamageListener.EVENT, waiting::onPlayerDamage);
-            game.on(PlayerDeathListener.EVENT, waiting::onPlayerDeath);
+            KothArena arena = new KothArena(game.getSpace(), map, config);
+            applyTo(game, arena);
             worldConfig.setTimeOfDay(config.map.time);
         });
     }
 
+    /**
+     * Sends everyone in the arena back to the lobby to wait for another match.
+     */
+    public static void reopen(KothArena arena) {
+        arena.gameSpace.openGame(game -> {
+            KothWaiting waiting = applyTo(game, arena);
+
+            for (ServerPlayerEntity player : arena.gameSpace.getPlayers()) {
+                player.inventory.clear();
+                player.setExperienceLevel(0);
+                player.setExperiencePoints(0);
+                waiting.spawnPlayer(player);
+            }
+        });
+    }
+
+    private static KothWaiting applyTo(GameLogic game, KothArena arena) {
+        KothWaiting waiting = new KothWaiting(arena);
+
+        GameWaitingLobby.applyTo(game, arena.config.playerConfig);
+
+        game.on(RequestStartListener.EVENT, waiting::requestStart);
+        game.on(GameTickListener.EVENT, waiting::tick);
+        game.on(PlayerAddListener.EVENT, waiting::addPlayer);
+        game.on(PlayerRemoveListener.EVENT, waiting::removePlayer);
+        game.on(PlayerDamageListener.EVENT, waiting::onPlayerDamage);
+        game.on(PlayerDeathListener.EVENT, waiting::onPlayerDeath);
+
+        return waiting;
+    }
+
     private void tick() {
+        this.spawnLogic.tick();
+
+        if (!this.chunkWarmer.isDone()) {
+            this.chunkWarmer.tick();
+
+            if (this.gameSpace.getWorld().getTime() % 10 == 0 || this.chunkWarmer.isDone()) {
+                Text progress = new LiteralText(String.format("Preparing arena... %d%%", this.chunkWarmer.getProgressPercent()));
+                for (ServerPlayerEntity player : this.gameSpace.getPlayers()) {
+                    player.sendMessage(progress, true);
+                }
+            }
+        }
+
+        // An arena kept around for another match is closed once everyone has left it
+        if (this.arena.getMatchesPlayed() > 0 && this.gameSpace.getPlayers().isEmpty()) {
+            if (++this.idleTicks > this.config.idleCloseSecs * 20L) {
+                this.gameSpace.close();
+                return;
+            }
+        } else {
+            this.idleTicks = 0;
+        }
+
         for (ServerPlayerEntity player : this.gameSpace.getWorld().getPlayers()) {
-            if (!this.map.bounds.contains(player.getBlockPos())) {
+            if (this.boundsMonitor.isOutOfBounds(player)) {
                 this.spawnPlayer(player);
             }
         }
     }
 
     private StartResult requestStart() {
-        KothActive.open(this.gameSpace, this.map, this.config);
+        if (this.config.map.waitForChunks && !this.chunkWarmer.isDone()) {
+            return StartResult.error(new LiteralText(String.format("The arena is still being prepared (%d%%)", this.chunkWarmer.getProgressPercent())));
+        }
+
+        KothActive.open(this.arena);
         return StartResult.OK;
     }
 
@@ -68,6 +128,11 @@ public class KothWaiting {
         this.spawnPlayer(player);
     }
 
+    private void removePlayer(ServerPlayerEntity player) {
+        this.spawnLogic.removePlayer(player);
+        this.boundsMonitor.forget(player);
+    }
+
     private ActionResult onPlayerDamage(ServerPlayerEntity player, DamageSource source, float value) {
         if (source.isFire()) {
             this.spawnPlayer(player);
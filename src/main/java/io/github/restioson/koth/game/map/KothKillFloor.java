@@ -0,0 +1,102 @@
+package io.github.restioson.koth.game.map;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * The height in each column of the map below which a player can no longer land on anything. This is found once when
+ * the template is loaded, so that players who fall off can be counted out as soon as they drop below the ground around
+ * them rather than after falling all the way to the bottom of the map.
+ */
+public final class KothKillFloor {
+    // How far a player may fall below the lowest ground around them before they can't get back up
+    private static final int MARGIN = 2;
+    // How many columns either side are checked for ground, so that players can still fall past an edge onto a ledge.
+    // This covers how far a knockback stick, a punch arrow or a leap can carry a player sideways
+    private static final int REACH = 8;
+
+    private final int minX;
+    private final int minZ;
+    private final int width;
+    private final int depth;
+    private final int bottom;
+    private final int[] floors;
+
+    private KothKillFloor(int minX, int minZ, int width, int depth, int bottom, int[] floors) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.width = width;
+        this.depth = depth;
+        this.bottom = bottom;
+        this.floors = floors;
+    }
+
+    public static KothKillFloor scan(BlockBounds bounds, Function<BlockPos, BlockState> blocks) {
+        BlockPos min = bounds.getMin();
+        BlockPos max = bounds.getMax();
+
+        int width = max.getX() - min.getX() + 1;
+        int depth = max.getZ() - min.getZ() + 1;
+
+        // The lowest block in each column, or MAX_VALUE if there is nothing in it
+        int[] lowest = new int[width * depth];
+        Arrays.fill(lowest, Integer.MAX_VALUE);
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < depth; dz++) {
+                for (int y = min.getY(); y <= max.getY(); y++) {
+                    pos.set(min.getX() + dx, y, min.getZ() + dz);
+                    if (!blocks.apply(pos).isAir()) {
+                        lowest[dx * depth + dz] = y;
+                        break;
+                    }
+                }
+            }
+        }
+
+        // The lowest ground within reach along x, then along that within reach along z, which together cover the square
+        // around each column without looking at every column in it
+        int[] alongX = new int[width * depth];
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < depth; dz++) {
+                int ground = Integer.MAX_VALUE;
+                for (int nx = Math.max(dx - REACH, 0); nx <= Math.min(dx + REACH, width - 1); nx++) {
+                    ground = Math.min(ground, lowest[nx * depth + dz]);
+                }
+                alongX[dx * depth + dz] = ground;
+            }
+        }
+
+        int[] floors = new int[width * depth];
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < depth; dz++) {
+                int ground = Integer.MAX_VALUE;
+                for (int nz = Math.max(dz - REACH, 0); nz <= Math.min(dz + REACH, depth - 1); nz++) {
+                    ground = Math.min(ground, alongX[dx * depth + nz]);
+                }
+
+                // With no ground nearby, the player may still be jumping across a gap
+                floors[dx * depth + dz] = ground == Integer.MAX_VALUE ? min.getY() : Math.max(ground - MARGIN, min.getY());
+            }
+        }
+
+        return new KothKillFloor(min.getX(), min.getZ(), width, depth, min.getY(), floors);
+    }
+
+    /**
+     * @return the lowest block y a player in the given column may be at without being counted out
+     */
+    public int getFloor(int x, int z) {
+        int dx = x - this.minX;
+        int dz = z - this.minZ;
+        if (dx < 0 || dz < 0 || dx >= this.width || dz >= this.depth) {
+            return this.bottom;
+        }
+        return this.floors[dx * this.depth + dz];
+    }
+}
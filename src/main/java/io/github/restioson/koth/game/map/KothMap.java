@@ -1,8 +1,10 @@
 package io.github.restioson.koth.game.map;
 
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.gen.chunk.ChunkGenerator;
+import org.jetbrains.annotations.Nullable;
 import xyz.nucleoid.plasmid.map.template.MapTemplate;
 import xyz.nucleoid.plasmid.map.template.TemplateChunkGenerator;
 import xyz.nucleoid.plasmid.util.BlockBounds;
@@ -10,20 +12,29 @@ import xyz.nucleoid.plasmid.util.BlockBounds;
 public class KothMap {
     private final MapTemplate template;
     public final BlockBounds spawn;
+    public final KothSpawnColumns spawnColumns;
+    public final KothKillFloor killFloor;
+    public final Vec3d[] spawnSlots;
+    public final double spawnSeparation;
     public final int spawnAngle;
     public final BlockBounds bounds;
     public final BlockBounds noPvp;
     public final BlockBounds throne;
+    @Nullable
+    public final Box throneBox;
 
-    public KothMap(MapTemplate template, BlockBounds spawn, BlockBounds throne, int spawnAngle) {
-        this.template = template;
-        this.spawn = spawn;
+    public KothMap(KothMapTemplate template, double spawnSeparation, int spawnAngle) {
+        this.template = template.template;
+        this.spawn = template.spawn;
+        this.spawnColumns = template.spawnColumns;
+        this.killFloor = template.killFloor;
+        this.spawnSeparation = spawnSeparation;
+        this.spawnSlots = template.spawnColumns.spreadSlots(spawnSeparation);
         this.spawnAngle = spawnAngle;
-        this.bounds = template.getBounds();
-        this.throne = throne;
-
-        BlockPos max = this.spawn.getMax();
-        this.noPvp = new BlockBounds(this.spawn.getMin(), new BlockPos(max.getX(), max.getY() + 3, max.getZ()));
+        this.bounds = template.bounds;
+        this.throne = template.throne;
+        this.throneBox = template.throneBox;
+        this.noPvp = template.noPvp;
     }
 
     public ChunkGenerator asGenerator(MinecraftServer server) {
@@ -0,0 +1,134 @@
+package io.github.restioson.koth.game.map;
+
+import io.github.restioson.koth.Koth;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Identifier;
+import xyz.nucleoid.plasmid.game.GameOpenException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A process-wide cache of decoded map templates, so that opening a game doesn't re-read and re-decode its template
+ * from the jar each time. The least recently used templates are evicted once more than {@link #MAX_ENTRIES} are held,
+ * and everything is invalidated when datapacks are reloaded.
+ *
+ * Templates are loaded on a background thread. A template that is being loaded is cached as its pending future, so
+ * that asking for it again waits on the same load rather than starting another.
+ */
+public final class KothMapCache {
+    public static final int MAX_ENTRIES = 16;
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "KotH Map Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<Identifier, CompletableFuture<KothMapTemplate>> TEMPLATES = new LinkedHashMap<Identifier, CompletableFuture<KothMapTemplate>>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Identifier, CompletableFuture<KothMapTemplate>> eldest) {
+            if (this.size() > MAX_ENTRIES) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private KothMapCache() {
+    }
+
+    /**
+     * Waits for a template to be loaded, if it isn't already.
+     */
+    public static KothMapTemplate get(Identifier id) throws GameOpenException {
+        return join(getAsync(id));
+    }
+
+    public static synchronized CompletableFuture<KothMapTemplate> getAsync(Identifier id) {
+        CompletableFuture<KothMapTemplate> future = TEMPLATES.get(id);
+        if (future != null) {
+            hits++;
+            return future;
+        }
+
+        misses++;
+        CompletableFuture<KothMapTemplate> load = CompletableFuture.supplyAsync(() -> KothMapTemplate.load(id), LOADER);
+        TEMPLATES.put(id, load);
+
+        // Don't hold on to failures, so that a fixed map can be tried again
+        load.whenComplete((template, throwable) -> {
+            if (throwable != null) {
+                remove(id, load);
+            }
+        });
+
+        return load;
+    }
+
+    /**
+     * Starts loading a template in the background, so that it is ready by the time a game is opened on it.
+     */
+    public static void prefetch(Identifier id) {
+        getAsync(id).whenComplete((template, throwable) -> {
+            if (throwable != null) {
+                Koth.LOGGER.warn("Failed to prefetch KotH map {}", id, throwable);
+            }
+        });
+    }
+
+    public static synchronized void invalidate(Identifier id) {
+        TEMPLATES.remove(id);
+    }
+
+    public static synchronized void invalidateAll() {
+        TEMPLATES.clear();
+    }
+
+    public static synchronized Stats getStats() {
+        return new Stats(TEMPLATES.size(), hits, misses, evictions);
+    }
+
+    private static synchronized void remove(Identifier id, CompletableFuture<KothMapTemplate> future) {
+        TEMPLATES.remove(id, future);
+    }
+
+    /**
+     * Waits for a future from the loader, rethrowing any failure as the {@link GameOpenException} it would have been
+     * had the work been done on this thread.
+     */
+    public static <T> T join(CompletableFuture<T> future) throws GameOpenException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GameOpenException) {
+                throw (GameOpenException) cause;
+            }
+            throw new GameOpenException(new LiteralText("Failed to prepare map"), cause);
+        }
+    }
+
+    public static final class Stats {
+        public final int size;
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+
+        Stats(int size, long hits, long misses, long evictions) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.restioson.koth.game.map;
+
+import io.github.restioson.koth.Koth;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.world.biome.BiomeKeys;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.game.GameOpenException;
+import xyz.nucleoid.plasmid.map.template.MapTemplate;
+import xyz.nucleoid.plasmid.map.template.MapTemplateMetadata;
+import xyz.nucleoid.plasmid.map.template.MapTemplateSerializer;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.io.IOException;
+
+/**
+ * A decoded map template together with everything derived from it that doesn't depend on the game config. These are
+ * never modified once loaded, so one can be shared by every game on the same map.
+ */
+public final class KothMapTemplate {
+    public final Identifier id;
+    public final MapTemplate template;
+    public final BlockBounds bounds;
+    public final BlockBounds spawn;
+    public final KothSpawnColumns spawnColumns;
+    public final KothKillFloor killFloor;
+    public final BlockBounds noPvp;
+    @Nullable
+    public final BlockBounds throne;
+    @Nullable
+    public final Box throneBox;
+
+    private KothMapTemplate(Identifier id, MapTemplate template, BlockBounds spawn, KothSpawnColumns spawnColumns, KothKillFloor killFloor, @Nullable BlockBounds throne) {
+        this.id = id;
+        this.template = template;
+        this.bounds = template.getBounds();
+        this.spawn = spawn;
+        this.spawnColumns = spawnColumns;
+        this.killFloor = killFloor;
+        this.throne = throne;
+        this.throneBox = throne != null ? throne.toBox() : null;
+
+        BlockPos max = spawn.getMax();
+        this.noPvp = new BlockBounds(spawn.getMin(), new BlockPos(max.getX(), max.getY() + 3, max.getZ()));
+    }
+
+    public static KothMapTemplate load(Identifier id) throws GameOpenException {
+        try {
+            MapTemplate template = MapTemplateSerializer.INSTANCE.loadFromResource(id);
+            MapTemplateMetadata metadata = template.getMetadata();
+
+            BlockBounds spawn = metadata.getFirstRegionBounds("spawn");
+            if (spawn == null) {
+                Koth.LOGGER.error("No spawn is defined on the map! The game will not work.");
+                throw new GameOpenException(new LiteralText("no spawn defined"));
+            }
+
+            KothSpawnColumns spawnColumns = KothSpawnColumns.scan(spawn, template::getBlockState);
+            if (spawnColumns.isEmpty()) {
+                Koth.LOGGER.error("The spawn on map {} has no solid ground to spawn on!", id);
+                throw new GameOpenException(new LiteralText("spawn has no solid ground"));
+            }
+
+            KothKillFloor killFloor = KothKillFloor.scan(template.getBounds(), template::getBlockState);
+
+            BlockBounds throne = metadata.getFirstRegionBounds("throne");
+
+            template.setBiome(BiomeKeys.PLAINS);
+
+            return new KothMapTemplate(id, template, spawn, spawnColumns, killFloor, throne);
+        } catch (IOException e) {
+            throw new GameOpenException(new LiteralText("Failed to load template"), e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.restioson.koth.game.map;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import xyz.nucleoid.plasmid.util.BlockBounds;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * The columns of the spawn region that a player can be safely placed in: those with a solid block at most two blocks
+ * below the bottom of the region. These are found once when the map is built so that picking a spawn point is a single
+ * random lookup.
+ */
+public final class KothSpawnColumns {
+    private static final int SUPPORT_DEPTH = 3;
+
+    private final int minX;
+    private final int minZ;
+    private final int y;
+    private final int depth;
+    // Offsets from (minX, minZ) of each valid column, packed as dx * depth + dz
+    private final int[] columns;
+
+    private KothSpawnColumns(int minX, int minZ, int y, int depth, int[] columns) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.y = y;
+        this.depth = depth;
+        this.columns = columns;
+    }
+
+    public static KothSpawnColumns scan(BlockBounds bounds, Function<BlockPos, BlockState> blocks) {
+        BlockPos min = bounds.getMin();
+        BlockPos max = bounds.getMax();
+
+        // Spawns are picked anywhere from the min corner up to, but not into, the max corner's blocks
+        int width = Math.max(max.getX() - min.getX(), 1);
+        int depth = Math.max(max.getZ() - min.getZ(), 1);
+
+        int[] columns = new int[width * depth];
+        int count = 0;
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < depth; dz++) {
+                for (int dy = 0; dy < SUPPORT_DEPTH; dy++) {
+                    pos.set(min.getX() + dx, min.getY() - dy, min.getZ() + dz);
+                    if (!blocks.apply(pos).isAir()) {
+                        columns[count++] = dx * depth + dz;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return new KothSpawnColumns(min.getX(), min.getZ(), min.getY(), depth, Arrays.copyOf(columns, count));
+    }
+
+    public boolean isEmpty() {
+        return this.columns.length == 0;
+    }
+
+    public int size() {
+        return this.columns.length;
+    }
+
+    /**
+     * Picks spawn slots at the centres of valid columns such that no two slots are closer than the given separation.
+     * Columns are taken greedily in a fixed order, so a map always produces the same slots.
+     */
+    public Vec3d[] spreadSlots(double separation) {
+        double separationSq = separation * separation;
+
+        Vec3d[] slots = new Vec3d[this.columns.length];
+        int count = 0;
+
+        for (int column : this.columns) {
+            double x = this.minX + column / this.depth + 0.5;
+            double z = this.minZ + column % this.depth + 0.5;
+
+            boolean free = true;
+            for (int i = 0; i < count; i++) {
+                double dx = slots[i].x - x;
+                double dz = slots[i].z - z;
+                if (dx * dx + dz * dz < separationSq) {
+                    free = false;
+                    break;
+                }
+            }
+
+            if (free) {
+                slots[count++] = new Vec3d(x, this.y, z);
+            }
+        }
+
+        return Arrays.copyOf(slots, count);
+    }
+
+    /**
+     * Picks a uniformly random point standing on one of the valid columns.
+     */
+    public Vec3d pick(Random random) {
+        int column = this.columns[random.nextInt(this.columns.length)];
+        double x = this.minX + column / this.depth + random.nextDouble();
+        double z = this.minZ + column % this.depth + random.nextDouble();
+        return new Vec3d(x, this.y, z);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.restioson.koth.game.sim;
+
+/**
+ * A single participant as seen by the {@link KothSimulation}.
+ *
+ * Scores and life state are owned by the simulation, and are stored in its {@link KothContestantTable} under the slot
+ * this contestant is given when it is added. Position and throne occupancy are fed in by whatever is driving it through
+ * {@link KothSimulation#setAlive}, {@link KothSimulation#setHeight} and {@link KothSimulation#setOnThrone}.
+ */
+public class KothContestant {
+    KothContestantTable<?> table;
+    int slot = KothContestantTable.NO_SLOT;
+
+    boolean alive = true;
+    double y;
+    int blockY = Integer.MIN_VALUE;
+    boolean onThrone;
+    boolean removed;
+    KothTimerWheel.Timer respawnTimer;
+
+    public int getScore() {
+        return this.table.score[this.slot];
+    }
+
+    public int getWins() {
+        return this.table.wins[this.slot];
+    }
+
+    public boolean isAlive() {
+        return this.alive;
+    }
+
+    public double getY() {
+        return this.y;
+    }
+
+    public boolean isOnThrone() {
+        return this.onThrone;
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.restioson.koth.game.sim;
+
+import java.util.Arrays;
+
+/**
+ * Storage for every contestant that has taken part in a simulation. Each contestant is given a small slot number when
+ * it is first added, which it keeps for the rest of the game even if it leaves and comes back. Scores, wins and recent
+ * attacks are kept in primitive arrays indexed by slot rather than on the contestant objects.
+ */
+public final class KothContestantTable<P extends KothContestant> {
+    public static final int NO_SLOT = -1;
+    /**
+     * How many distinct recent attackers are remembered for each contestant.
+     */
+    public static final int ATTACK_HISTORY = 4;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] contestants = new Object[INITIAL_CAPACITY];
+    int[] score = new int[INITIAL_CAPACITY];
+    int[] wins = new int[INITIAL_CAPACITY];
+
+    // A ring buffer of ATTACK_HISTORY recent attacks for each slot, with the next entry to write at attackHead
+    int[] attackers = new int[INITIAL_CAPACITY * ATTACK_HISTORY];
+    long[] attackTimes = new long[INITIAL_CAPACITY * ATTACK_HISTORY];
+    int[] attackHead = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Gives a contestant a slot, unless it already has one in this table.
+     *
+     * @return the contestant's slot
+     */
+    int add(P contestant) {
+        if (contestant.table == this) {
+            return contestant.slot;
+        } else if (contestant.table != null) {
+            throw new IllegalArgumentException("contestant already belongs to another simulation");
+        }
+
+        if (this.size == this.contestants.length) {
+            this.grow();
+        }
+
+        int slot = this.size++;
+        this.contestants[slot] = contestant;
+        this.clearAttacks(slot);
+
+        contestant.table = this;
+        contestant.slot = slot;
+
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = this.contestants.length * 2;
+        this.contestants = Arrays.copyOf(this.contestants, capacity);
+        this.score = Arrays.copyOf(this.score, capacity);
+        this.wins = Arrays.copyOf(this.wins, capacity);
+        this.attackers = Arrays.copyOf(this.attackers, capacity * ATTACK_HISTORY);
+        this.attackTimes = Arrays.copyOf(this.attackTimes, capacity * ATTACK_HISTORY);
+        this.attackHead = Arrays.copyOf(this.attackHead, capacity);
+    }
+
+    /**
+     * Records an attack, overwriting the oldest remembered one. Each attacker is only remembered once, for their most
+     * recent hit.
+     */
+    void recordAttack(int victim, int attacker, long time) {
+        int base = victim * ATTACK_HISTORY;
+        int head = this.attackHead[victim];
+
+        int latest = this.latestAttack(victim);
+        if (this.attackers[latest] == attacker) {
+            this.attackTimes[latest] = time;
+            return;
+        }
+
+        for (int i = base; i < base + ATTACK_HISTORY; i++) {
+            if (this.attackers[i] == attacker) {
+                this.attackers[i] = NO_SLOT;
+            }
+        }
+
+        this.attackers[base + head] = attacker;
+        this.attackTimes[base + head] = time;
+        this.attackHead[victim] = (head + 1) % ATTACK_HISTORY;
+    }
+
+    /**
+     * @param age 0 for the most recent attack, up to {@link #ATTACK_HISTORY} - 1 for the oldest
+     * @return the index into {@link #attackers} and {@link #attackTimes} of an attack on the given slot
+     */
+    int attack(int victim, int age) {
+        return victim * ATTACK_HISTORY + (this.attackHead[victim] + ATTACK_HISTORY - 1 - age) % ATTACK_HISTORY;
+    }
+
+    int latestAttack(int victim) {
+        return this.attack(victim, 0);
+    }
+
+    void clearAttacks(int victim) {
+        int base = victim * ATTACK_HISTORY;
+        Arrays.fill(this.attackers, base, base + ATTACK_HISTORY, NO_SLOT);
+        this.attackHead[victim] = 0;
+    }
+
+    /**
+     * Forgets every attack made by the given slot.
+     */
+    void forgetAttacker(int attacker) {
+        int end = this.size * ATTACK_HISTORY;
+        for (int i = 0; i < end; i++) {
+            if (this.attackers[i] == attacker) {
+                this.attackers[i] = NO_SLOT;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public P get(int slot) {
+        return (P) this.contestants[slot];
+    }
+
+    /**
+     * @return the number of slots handed out, including those of contestants who have since left
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public int getScore(int slot) {
+        return this.score[slot];
+    }
+
+    public int getWins(int slot) {
+        return this.wins[slot];
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.restioson.koth.game.sim;
+
+import java.util.List;
+
+/**
+ * Keeps track of the current leader of the game so that it doesn't have to be found by scanning every contestant
+ * each time it is asked for. The leader is only recomputed when something it depends on has changed: a score, a
+ * contestant dying or respawning, a contestant joining or leaving, or (in winner-takes-all) a contestant moving
+ * vertically.
+ *
+ * Ties go to whoever comes first in the contestant list.
+ */
+public final class KothLeaderTracker<P extends KothContestant> {
+    private final KothMode<P> mode;
+    private final List<P> contestants;
+
+    private P leader;
+    private boolean dirty = true;
+
+    KothLeaderTracker(KothMode<P> mode, List<P> contestants) {
+        this.mode = mode;
+        this.contestants = contestants;
+    }
+
+    /**
+     * @return the current leader, or null if there is none
+     */
+    public P getLeader() {
+        if (this.dirty) {
+            this.leader = this.mode.findLeader(this.contestants);
+            this.dirty = false;
+        }
+
+        return this.leader;
+    }
+
+    void onScoreChanged(P contestant) {
+        this.mode.onScoreChanged(this, contestant);
+    }
+
+    /**
+     * Updates the leader without a rescan when the leader is whoever has the highest score.
+     */
+    void onLeadingScoreChanged(P contestant) {
+        if (this.dirty || this.leader == null || contestant == this.leader) {
+            return;
+        }
+
+        if (contestant.getScore() > this.leader.getScore()) {
+            this.leader = contestant;
+        } else if (contestant.getScore() == this.leader.getScore()) {
+            // Ties go to whoever comes first, so rescan
+            this.dirty = true;
+        }
+    }
+
+    void onLifeChanged() {
+        if (this.mode.isLeaderAffectedByLife()) {
+            this.dirty = true;
+        }
+    }
+
+    void onHeightChanged() {
+        if (this.mode.isLeaderAffectedByHeight()) {
+            this.dirty = true;
+        }
+    }
+
+    void onContestantsChanged() {
+        this.dirty = true;
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.restioson.koth.game.sim;
+
+import java.util.List;
+
+/**
+ * The top few contestants shown on the sidebar, kept as slots in fixed-size arrays so that re-ranking doesn't allocate.
+ *
+ * Ranking is a partial insertion sort over the contestants which only runs when something it depends on has been
+ * invalidated. Equal keys keep contestant list order, like a stable sort would.
+ */
+public final class KothLeaderboard<P extends KothContestant> {
+    public static final int MAX_ENTRIES = 5;
+
+    private final Ranking ranking;
+    private final KothContestantTable<P> table;
+    private final List<P> contestants;
+
+    private final int[] slots;
+    private final double[] keys;
+    private int size;
+
+    private boolean dirty = true;
+
+    public KothLeaderboard(Ranking ranking, KothContestantTable<P> table, List<P> contestants) {
+        this.ranking = ranking;
+        this.table = table;
+        this.contestants = contestants;
+
+        int capacity = ranking == Ranking.HEIGHT ? 1 : MAX_ENTRIES;
+        this.slots = new int[capacity];
+        this.keys = new double[capacity];
+    }
+
+    public static Ranking rankingFor(KothRules rules) {
+        switch (rules.mode) {
+            case WINNER_TAKES_ALL:
+                return Ranking.HEIGHT;
+            case DEATHMATCH:
+                return Ranking.WINS;
+            default:
+                return Ranking.SCORE;
+        }
+    }
+
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    /**
+     * Re-ranks the contestants if needed. Whether that changed what is shown is up to whoever shows it to decide.
+     *
+     * @return whether the contestants were re-ranked
+     */
+    public boolean update() {
+        // Heights change continuously, so they are always re-ranked
+        if (!this.dirty && this.ranking != Ranking.HEIGHT) {
+            return false;
+        }
+
+        this.dirty = false;
+        this.size = 0;
+
+        for (P contestant : this.contestants) {
+            int slot = contestant.slot;
+            if (this.ranking == Ranking.SCORE && this.table.score[slot] == 0) {
+                continue;
+            }
+
+            this.insert(slot, this.keyOf(contestant));
+        }
+
+        return true;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public P get(int index) {
+        return this.table.get(this.slots[index]);
+    }
+
+    private void insert(int slot, double key) {
+        int capacity = this.slots.length;
+
+        int index = this.size;
+        while (index > 0 && this.keys[index - 1] < key) {
+            index--;
+        }
+
+        if (index >= capacity) {
+            return;
+        }
+
+        int last = Math.min(this.size, capacity - 1);
+        for (int i = last; i > index; i--) {
+            this.slots[i] = this.slots[i - 1];
+            this.keys[i] = this.keys[i - 1];
+        }
+
+        this.slots[index] = slot;
+        this.keys[index] = key;
+        this.size = Math.min(this.size + 1, capacity);
+    }
+
+    private double keyOf(P contestant) {
+        switch (this.ranking) {
+            case HEIGHT:
+                return contestant.y;
+            case WINS:
+                return this.table.wins[contestant.slot];
+            case SCORE:
+            default:
+                return this.table.score[contestant.slot];
+        }
+    }
+
+    public enum Ranking {
+        SCORE,
+        HEIGHT,
+        WINS,
+    }
+}
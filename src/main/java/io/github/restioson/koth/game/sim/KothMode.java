@@ -0,0 +1,236 @@
+package io.github.restioson.koth.game.sim;
+
+import java.util.List;
+
+/**
+ * The parts of the simulation that differ between game modes. One is picked from {@link KothRules#mode} when the
+ * simulation is created, so each mode ticks with its own loop rather than checking the rules for every contestant.
+ */
+abstract class KothMode<P extends KothContestant> {
+    final KothSimulation<P> simulation;
+    final KothRules rules;
+
+    KothMode(KothSimulation<P> simulation) {
+        this.simulation = simulation;
+        this.rules = simulation.getRules();
+    }
+
+    static <P extends KothContestant> KothMode<P> create(KothSimulation<P> simulation) {
+        switch (simulation.getRules().mode) {
+            case WINNER_TAKES_ALL:
+                return new WinnerTakesAll<>(simulation);
+            case KNOCKOFF:
+                return new Knockoff<>(simulation);
+            case DEATHMATCH:
+                return new Deathmatch<>(simulation);
+            case THRONE:
+            default:
+                return new Throne<>(simulation);
+        }
+    }
+
+    /**
+     * @return the leader among the given contestants, or null if there is none
+     */
+    abstract P findLeader(List<P> contestants);
+
+    /**
+     * Lets the leader tracker know that a contestant's score changed.
+     */
+    void onScoreChanged(KothLeaderTracker<P> tracker, P contestant) {
+    }
+
+    boolean isLeaderAffectedByLife() {
+        return false;
+    }
+
+    boolean isLeaderAffectedByHeight() {
+        return false;
+    }
+
+    /**
+     * @return whether the round can't end yet, given who is on the throne and who is leading
+     */
+    boolean isOvertime(P throneOccupant, P leader, int alivePlayers) {
+        // Anything other than the leader alone on the throne means overtime
+        return throneOccupant == null || throneOccupant != leader;
+    }
+
+    /**
+     * Credits and schedules the respawn of a contestant who was just eliminated.
+     */
+    void onEliminated(P victim, P attacker, long time) {
+        this.simulation.scheduleRespawn(victim, time, KothSimulation.RESPAWN_SECS);
+    }
+
+    void tickContestants(long time) {
+        this.simulation.advanceTimers(time);
+    }
+
+    /**
+     * @return whether the winner of a round has also won the game
+     */
+    boolean decidesGame(P winner) {
+        return winner.getWins() == this.rules.firstTo;
+    }
+
+    /**
+     * @return whoever has the highest score, with ties going to whoever comes first, or null if there is nobody
+     */
+    static <P extends KothContestant> P highestScore(List<P> contestants) {
+        P leader = null;
+        for (P contestant : contestants) {
+            if (leader == null || leader.getScore() < contestant.getScore()) {
+                leader = contestant;
+            }
+        }
+        return leader;
+    }
+
+    /**
+     * Scores a point for every second spent alone on the throne; whoever has the most points leads.
+     */
+    static final class Throne<P extends KothContestant> extends KothMode<P> {
+        Throne(KothSimulation<P> simulation) {
+            super(simulation);
+        }
+
+        @Override
+        P findLeader(List<P> contestants) {
+            return highestScore(contestants);
+        }
+
+        @Override
+        void onScoreChanged(KothLeaderTracker<P> tracker, P contestant) {
+            tracker.onLeadingScoreChanged(contestant);
+        }
+
+        @Override
+        void tickContestants(long time) {
+            super.tickContestants(time);
+
+            if (time % 20 != 0) {
+                return;
+            }
+
+            KothThrone<P> throne = this.simulation.getThrone();
+            for (int i = 0; i < throne.getOccupantCount(); i++) {
+                this.simulation.addScore(throne.getOccupant(i));
+            }
+        }
+    }
+
+    /**
+     * Whoever is highest up when time runs out rules.
+     */
+    static final class WinnerTakesAll<P extends KothContestant> extends KothMode<P> {
+        WinnerTakesAll(KothSimulation<P> simulation) {
+            super(simulation);
+        }
+
+        @Override
+        P findLeader(List<P> contestants) {
+            P leader = null;
+            for (P contestant : contestants) {
+                if (contestant.alive && (leader == null || leader.blockY < contestant.blockY)) {
+                    leader = contestant;
+                }
+            }
+            return leader;
+        }
+
+        @Override
+        boolean isLeaderAffectedByLife() {
+            return true;
+        }
+
+        @Override
+        boolean isLeaderAffectedByHeight() {
+            return true;
+        }
+    }
+
+    /**
+     * Scores a point for every knockoff, respawning immediately, until someone reaches the target.
+     */
+    static final class Knockoff<P extends KothContestant> extends KothMode<P> {
+        Knockoff(KothSimulation<P> simulation) {
+            super(simulation);
+        }
+
+        @Override
+        P findLeader(List<P> contestants) {
+            // Crediting stops as soon as someone reaches the target, so whoever finished has the highest score
+            return highestScore(contestants);
+        }
+
+        @Override
+        void onScoreChanged(KothLeaderTracker<P> tracker, P contestant) {
+            tracker.onLeadingScoreChanged(contestant);
+        }
+
+        @Override
+        boolean isOvertime(P throneOccupant, P leader, int alivePlayers) {
+            return true;
+        }
+
+        @Override
+        void onEliminated(P victim, P attacker, long time) {
+            if (this.simulation.isGameFinished()) {
+                super.onEliminated(victim, attacker, time);
+                return;
+            }
+
+            if (attacker != null) {
+                this.simulation.creditElimination(victim, attacker, time);
+            }
+
+            // Straight back in without a countdown
+            this.simulation.scheduleRespawn(victim, time, 0);
+        }
+
+        @Override
+        boolean decidesGame(P winner) {
+            return true;
+        }
+    }
+
+    /**
+     * Eliminated contestants stay out until the next round; the last one standing wins it.
+     */
+    static final class Deathmatch<P extends KothContestant> extends KothMode<P> {
+        Deathmatch(KothSimulation<P> simulation) {
+            super(simulation);
+        }
+
+        @Override
+        P findLeader(List<P> contestants) {
+            for (P contestant : contestants) {
+                if (contestant.alive) {
+                    return contestant;
+                }
+            }
+
+            // No players are alive
+            return null;
+        }
+
+        @Override
+        boolean isLeaderAffectedByLife() {
+            return true;
+        }
+
+        @Override
+        boolean isOvertime(P throneOccupant, P leader, int alivePlayers) {
+            return alivePlayers > 1 || super.isOvertime(throneOccupant, leader, alivePlayers);
+        }
+
+        @Override
+        void onEliminated(P victim, P attacker, long time) {
+        }
+
+        @Override
+        void tickContestants(long time) {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.restioson.koth.game.sim;
+
+/**
+ * The timing of a round: the countdown before it starts, the time limit, and the pause before the next round or the
+ * end of the game.
+ */
+public final class KothRound {
+    private final KothRules rules;
+    private long closeTime = -1;
+    private long finishTime = -1;
+    private long startTime = -1;
+
+    public KothRound(KothRules rules) {
+        this.rules = rules;
+    }
+
+    public void start(long time) {
+        this.startTime = time - (time % 20) + (4 * 20) + 19;
+        this.finishTime = this.startTime + (this.rules.timeLimitSecs * 20);
+        this.closeTime = -1;
+    }
+
+    public void finish(long time) {
+        this.finishTime = time;
+    }
+
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    public long getFinishTime() {
+        return this.finishTime;
+    }
+
+    public TickResult tick(long time, boolean overtime, boolean gameFinished, int playerCount, int alivePlayers) {
+        // Game has finished. Wait a few seconds before finally closing the game.
+        if (this.closeTime > 0) {
+            if (time >= this.closeTime) {
+                if (gameFinished) {
+                    return TickResult.GAME_CLOSED;
+                } else {
+                    this.start(time); // Restart
+                    return TickResult.NEXT_ROUND;
+                }
+            }
+            return TickResult.TICK_FINISHED;
+        }
+
+        // Game hasn't started yet. Players are frozen while a countdown is displayed.
+        if (this.startTime > time) {
+            return TickResult.TICK_FINISHED_PLAYERS_FROZEN;
+        }
+
+        if (this.rules.mode == KothRules.Mode.KNOCKOFF && gameFinished && this.closeTime == -1) {
+            this.closeTime = time + (4 * 20);
+            return TickResult.ROUND_FINISHED;
+        }
+
+        boolean noPlayers = playerCount == 0;
+        if (this.rules.mode.isLastStanding() && alivePlayers <= 1) {
+            noPlayers = true;
+        }
+
+        // Game has just finished. Transition to the waiting-before-close state.
+        if (time > this.finishTime || noPlayers) {
+            if (!overtime) {
+                this.closeTime = time + (2 * 20);
+                return TickResult.ROUND_FINISHED;
+            } else if (this.rules.mode.isTimed()) {
+                return TickResult.OVERTIME;
+            } else if (noPlayers) { // Both eliminated at once
+                this.closeTime = time + (2 * 20);
+                return TickResult.ROUND_FINISHED;
+            }
+        }
+
+        return TickResult.CONTINUE_TICK;
+    }
+
+    public enum TickResult {
+        CONTINUE_TICK,
+        TICK_FINISHED,
+        TICK_FINISHED_PLAYERS_FROZEN,
+        NEXT_ROUND,
+        ROUND_FINISHED,
+        GAME_CLOSED,
+        OVERTIME,
+    }
+}
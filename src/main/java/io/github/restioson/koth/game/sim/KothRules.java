@@ -0,0 +1,66 @@
+package io.github.restioson.koth.game.sim;
+
+/**
+ * The parts of a game's configuration that affect its rules.
+ */
+public final class KothRules {
+    public final int timeLimitSecs;
+    public final int firstTo;
+    public final boolean creditAssists;
+    public final Mode mode;
+
+    public KothRules(int timeLimitSecs, int firstTo, boolean winnerTakesAll, boolean deathmatch, boolean knockoff, boolean creditAssists) {
+        this.timeLimitSecs = timeLimitSecs;
+        this.firstTo = firstTo;
+        this.creditAssists = creditAssists;
+        this.mode = Mode.of(winnerTakesAll, deathmatch, knockoff);
+    }
+
+    /**
+     * The kind of game being played, decided once from the flags. Everything that depends on the mode asks it rather
+     * than looking at the flags.
+     */
+    public enum Mode {
+        THRONE,
+        WINNER_TAKES_ALL,
+        KNOCKOFF,
+        DEATHMATCH;
+
+        public static Mode of(boolean winnerTakesAll, boolean deathmatch, boolean knockoff) {
+            if (deathmatch) {
+                return DEATHMATCH;
+            } else if (winnerTakesAll) {
+                return WINNER_TAKES_ALL;
+            } else if (knockoff) {
+                return KNOCKOFF;
+            } else {
+                return THRONE;
+            }
+        }
+
+        /**
+         * @return whether rounds end when their time limit runs out, rather than when players are knocked out
+         */
+        public boolean isTimed() {
+            return this == THRONE || this == WINNER_TAKES_ALL;
+        }
+
+        /**
+         * @return whether the game is won by winning rounds, rather than by reaching a score
+         */
+        public boolean isPlayedInRounds() {
+            return this != KNOCKOFF;
+        }
+
+        /**
+         * @return whether eliminated players sit out the rest of the round
+         */
+        public boolean isLastStanding() {
+            return this == DEATHMATCH;
+        }
+
+        public boolean needsThrone() {
+            return this != WINNER_TAKES_ALL;
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package io.github.restioson.koth.game.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The rules of King of the Hill, independent of Minecraft: round and overtime state, throne scoring, knockoff
+ * attribution, deathmatch elimination and deciding who won.
+ *
+ * The simulation is driven each tick by feeding in contestant positions and throne occupancy, then calling
+ * {@link #tickRound} and, if the round is in play, {@link #tickContestants}. Anything that should happen in the world
+ * as a result is reported to the {@link Listener}.
+ */
+public final class KothSimulation<P extends KothContestant> {
+    public static final int RESPAWN_SECS = 5;
+    public static final long ATTACK_EXPIRE_TICKS = 20 * 5;
+
+    private final KothRules rules;
+    private final KothMode<P> mode;
+    private final Listener<P> listener;
+
+    private final KothContestantTable<P> table = new KothContestantTable<>();
+    private final List<P> contestants = new ArrayList<>();
+    private final List<P> assists = new ArrayList<>();
+    private final KothRound round;
+    private final KothThrone<P> throne = new KothThrone<>();
+    private final KothLeaderTracker<P> leaderTracker;
+    private final KothLeaderboard<P> leaderboard;
+    private final KothTimerWheel timers = new KothTimerWheel();
+
+    private int aliveCount;
+
+    private OvertimeState overtimeState = OvertimeState.NOT_IN_OVERTIME;
+    private boolean gameFinished;
+
+    public KothSimulation(KothRules rules, Listener<P> listener) {
+        this.rules = rules;
+        this.listener = listener;
+        this.round = new KothRound(rules);
+        this.mode = KothMode.create(this);
+        this.leaderTracker = new KothLeaderTracker<>(this.mode, this.contestants);
+        this.leaderboard = new KothLeaderboard<>(KothLeaderboard.rankingFor(rules), this.table, this.contestants);
+    }
+
+    /**
+     * Adds a contestant, or brings back one that was removed with the scores it had.
+     */
+    public void add(P contestant) {
+        this.table.add(contestant);
+        contestant.removed = false;
+        this.contestants.add(contestant);
+        if (contestant.alive) {
+            this.aliveCount++;
+        }
+        this.leaderTracker.onContestantsChanged();
+        this.leaderboard.invalidate();
+    }
+
+    public void remove(P contestant) {
+        if (this.contestants.remove(contestant)) {
+            contestant.removed = true;
+            if (contestant.alive) {
+                this.aliveCount--;
+            }
+
+            // Nobody can be credited with an attack by someone who has left
+            this.table.clearAttacks(contestant.slot);
+            this.table.forgetAttacker(contestant.slot);
+            this.cancelRespawn(contestant);
+
+            this.throne.remove(contestant);
+            this.leaderTracker.onContestantsChanged();
+            this.leaderboard.invalidate();
+        }
+    }
+
+    /**
+     * Brings back a contestant who left, dead until their respawn timer runs out (or until the next round in
+     * deathmatch).
+     */
+    public void rejoin(P contestant, long time) {
+        this.add(contestant);
+        this.setAlive(contestant, false);
+        this.scheduleRespawn(contestant, time, RESPAWN_SECS);
+    }
+
+    public List<P> getContestants() {
+        return Collections.unmodifiableList(this.contestants);
+    }
+
+    /**
+     * @return how many contestants are alive, kept up to date as they are eliminated, respawn, join and leave
+     */
+    public int getAliveCount() {
+        return this.aliveCount;
+    }
+
+    public KothRules getRules() {
+        return this.rules;
+    }
+
+    public KothRound getRound() {
+        return this.round;
+    }
+
+    public KothThrone<P> getThrone() {
+        return this.throne;
+    }
+
+    public KothLeaderboard<P> getLeaderboard() {
+        return this.leaderboard;
+    }
+
+    /**
+     * @return the contestant who would win if the round ended now, or null if there is none
+     */
+    public P getLeader() {
+        return this.leaderTracker.getLeader();
+    }
+
+    public boolean isGameFinished() {
+        return this.gameFinished;
+    }
+
+    public void start(long time) {
+        this.round.start(time);
+    }
+
+    public void setAlive(P contestant, boolean alive) {
+        if (contestant.alive != alive) {
+            contestant.alive = alive;
+            if (!contestant.removed) {
+                this.aliveCount += alive ? 1 : -1;
+            }
+            this.leaderTracker.onLifeChanged();
+
+            if (!alive) {
+                this.throne.remove(contestant);
+            }
+        }
+    }
+
+    public void setHeight(P contestant, double y) {
+        contestant.y = y;
+
+        int blockY = (int) Math.floor(y);
+        if (blockY != contestant.blockY) {
+            contestant.blockY = blockY;
+            if (contestant.alive) {
+                this.leaderTracker.onHeightChanged();
+            }
+        }
+    }
+
+    public void setOnThrone(P contestant, boolean onThrone) {
+        this.throne.update(contestant, onThrone && contestant.alive);
+    }
+
+    public void recordAttack(P victim, P attacker, long time) {
+        this.table.recordAttack(victim.slot, attacker.slot, time);
+    }
+
+    /**
+     * @return the contestant who last attacked the given one, if that was recent enough to be credited
+     */
+    public P getAttacker(P victim, long time) {
+        return this.resolveAttack(this.table.latestAttack(victim.slot), time);
+    }
+
+    /**
+     * Collects everyone other than the last attacker who attacked the given contestant recently enough to be credited,
+     * most recent first.
+     *
+     * @param assists a list to fill, which is cleared first
+     * @return the number of assists
+     */
+    public int getAssists(P victim, long time, List<? super P> assists) {
+        assists.clear();
+
+        P attacker = this.getAttacker(victim, time);
+        if (attacker == null) {
+            return 0;
+        }
+
+        for (int age = 1; age < KothContestantTable.ATTACK_HISTORY; age++) {
+            P assist = this.resolveAttack(this.table.attack(victim.slot, age), time);
+            if (assist != null && assist != attacker) {
+                assists.add(assist);
+            }
+        }
+
+        return assists.size();
+    }
+
+    private P resolveAttack(int attack, long time) {
+        int attackerSlot = this.table.attackers[attack];
+        if (attackerSlot == KothContestantTable.NO_SLOT || time >= this.table.attackTimes[attack] + ATTACK_EXPIRE_TICKS) {
+            return null;
+        }
+
+        P attacker = this.table.get(attackerSlot);
+        return attacker.removed ? null : attacker;
+    }
+
+    public int getAttackRecordCount() {
+        int count = 0;
+        for (P contestant : this.contestants) {
+            int base = contestant.slot * KothContestantTable.ATTACK_HISTORY;
+            for (int i = base; i < base + KothContestantTable.ATTACK_HISTORY; i++) {
+                if (this.table.attackers[i] != KothContestantTable.NO_SLOT) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Eliminates a contestant until they respawn (or until the next round in deathmatch), crediting their attacker in
+     * knockoff, along with anyone who assisted if the rules credit assists. Anyone who should be told about assists
+     * must ask for them with {@link #getAssists} before eliminating.
+     *
+     * @return the contestant credited with the elimination, or null if there is none
+     */
+    public P eliminate(P victim, long time) {
+        P attacker = this.getAttacker(victim, time);
+        this.setAlive(victim, false);
+
+        this.mode.onEliminated(victim, attacker, time);
+
+        // Whoever knocked them off this time shouldn't be credited again if they fall soon after respawning
+        this.table.clearAttacks(victim.slot);
+
+        return attacker;
+    }
+
+    /**
+     * Scores a point for the attacker who eliminated a contestant, along with anyone who assisted if the rules credit
+     * assists.
+     */
+    void creditElimination(P victim, P attacker, long time) {
+        this.creditKnockoff(attacker, time);
+
+        if (this.rules.creditAssists) {
+            this.getAssists(victim, time, this.assists);
+            for (P assist : this.assists) {
+                // Only one contestant can finish the game, and the attacker is credited before anyone who assisted
+                if (this.gameFinished) {
+                    break;
+                }
+                this.creditKnockoff(assist, time);
+            }
+            this.assists.clear();
+        }
+    }
+
+    private void creditKnockoff(P contestant, long time) {
+        this.addScore(contestant);
+        if (this.table.score[contestant.slot] >= this.rules.firstTo) {
+            this.gameFinished = true;
+            this.round.finish(time);
+        }
+    }
+
+    public KothRound.TickResult tickRound(long time, int playerCount) {
+        int alivePlayers = this.aliveCount;
+        boolean overtime = this.mode.isOvertime(this.throne.getSoleOccupant(), this.getLeader(), alivePlayers);
+
+        KothRound.TickResult result = this.round.tick(time, overtime, this.gameFinished, playerCount, alivePlayers);
+
+        switch (result) {
+            case OVERTIME:
+                if (this.overtimeState == OvertimeState.NOT_IN_OVERTIME) {
+                    this.overtimeState = OvertimeState.IN_OVERTIME;
+                    this.listener.onOvertime();
+                } else if (this.overtimeState == OvertimeState.JUST_ENTERED_OVERTIME) {
+                    this.overtimeState = OvertimeState.IN_OVERTIME;
+                }
+                break;
+            case NEXT_ROUND:
+                for (P contestant : this.contestants) {
+                    this.respawn(contestant);
+                }
+                break;
+            case ROUND_FINISHED:
+                this.finishRound();
+                break;
+            default:
+                break;
+        }
+
+        return result;
+    }
+
+    /**
+     * Drops everything that only lasts for a round: overtime, the attack history and any pending respawns. Whoever
+     * owns the round calls this when the next round starts and when the game closes.
+     */
+    public void resetRound() {
+        this.overtimeState = OvertimeState.NOT_IN_OVERTIME;
+        for (P contestant : this.contestants) {
+            this.table.clearAttacks(contestant.slot);
+            this.cancelRespawn(contestant);
+        }
+    }
+
+    /**
+     * Ticks respawning and throne scoring. Only called while the round is in play.
+     */
+    public void tickContestants(long time) {
+        this.mode.tickContestants(time);
+    }
+
+    void advanceTimers(long time) {
+        this.timers.advance(time);
+    }
+
+    public int getPendingTimerCount() {
+        return this.timers.getPendingCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    void scheduleRespawn(P contestant, long deadTime, int seconds) {
+        RespawnTimer timer = (RespawnTimer) contestant.respawnTimer;
+        if (timer == null) {
+            timer = new RespawnTimer(contestant);
+            contestant.respawnTimer = timer;
+        }
+
+        timer.deadTime = deadTime;
+        timer.seconds = seconds;
+        this.timers.schedule(timer, deadTime);
+    }
+
+    private void cancelRespawn(P contestant) {
+        if (contestant.respawnTimer != null) {
+            contestant.respawnTimer.cancel();
+        }
+    }
+
+    private void respawn(P contestant) {
+        this.cancelRespawn(contestant);
+        this.setAlive(contestant, true);
+        this.listener.onRespawn(contestant);
+    }
+
+    void addScore(P contestant) {
+        this.table.score[contestant.slot] += 1;
+        this.leaderTracker.onScoreChanged(contestant);
+        this.leaderboard.invalidate();
+        this.listener.onScored(contestant);
+    }
+
+    private void finishRound() {
+        P winner = this.getLeader();
+
+        if (winner != null) {
+            this.table.wins[winner.slot]++;
+            this.leaderboard.invalidate();
+        }
+
+        boolean wonGame;
+
+        if (winner == null && this.rules.firstTo == 1) {
+            wonGame = true;
+        } else {
+            wonGame = winner != null && this.mode.decidesGame(winner);
+        }
+
+        if (wonGame) {
+            this.gameFinished = true;
+        }
+
+        this.listener.onRoundFinished(winner, wonGame);
+    }
+
+    public interface Listener<P extends KothContestant> {
+        default void onScored(P contestant) {}
+
+        default void onRespawnCountdown(P contestant, int seconds) {}
+
+        default void onRespawn(P contestant) {}
+
+        default void onOvertime() {}
+
+        /**
+         * @param winner the round's winner, or null if nobody won
+         * @param wonGame whether this round decided the whole game
+         */
+        default void onRoundFinished(P winner, boolean wonGame) {}
+    }
+
+    /**
+     * Counts a dead contestant down once a second, then respawns them.
+     */
+    private final class RespawnTimer extends KothTimerWheel.Timer {
+        private final P contestant;
+        private long deadTime;
+        private int seconds;
+
+        RespawnTimer(P contestant) {
+            this.contestant = contestant;
+        }
+
+        @Override
+        protected void run() {
+            if (this.seconds <= 0) {
+                KothSimulation.this.respawn(this.contestant);
+                return;
+            }
+
+            // A countdown that starts late, such as for someone who rejoined before the round began, counts down from
+            // when it actually started rather than catching up a second every tick
+            long late = KothSimulation.this.timers.getTime() - (this.deadTime + (RESPAWN_SECS - this.seconds) * 20);
+            if (late > 0) {
+                this.deadTime += late;
+            }
+
+            KothSimulation.this.listener.onRespawnCountdown(this.contestant, this.seconds);
+            this.seconds--;
+
+            long next;
+            if (this.seconds > 0) {
+                next = this.deadTime + (RESPAWN_SECS - this.seconds) * 20;
+            } else {
+                next = this.deadTime + RESPAWN_SECS * 20 + 1;
+            }
+            KothSimulation.this.timers.schedule(this, next);
+        }
+    }
+
+    enum OvertimeState {
+        NOT_IN_OVERTIME,
+        JUST_ENTERED_OVERTIME,
+        IN_OVERTIME,
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.restioson.koth.game.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks which contestants are currently on the throne, so that scoring and overtime only have to look at its
+ * occupants. Whether a contestant is on the throne is decided by whatever drives the simulation, which tests each
+ * player against the throne's cached box every tick.
+ *
+ * Nothing is told when someone enters or leaves the throne or when it becomes contested: scoring and overtime read the
+ * occupants when they need them, and the game shows nothing for those changes.
+ */
+public final class KothThrone<P extends KothContestant> {
+    private final List<P> occupants = new ArrayList<>();
+
+    public void update(P contestant, boolean onThrone) {
+        if (onThrone != contestant.onThrone) {
+            if (onThrone) {
+                this.enter(contestant);
+            } else {
+                this.leave(contestant);
+            }
+        }
+    }
+
+    public void remove(P contestant) {
+        if (contestant.onThrone) {
+            this.leave(contestant);
+        }
+    }
+
+    public int getOccupantCount() {
+        return this.occupants.size();
+    }
+
+    public P getOccupant(int index) {
+        return this.occupants.get(index);
+    }
+
+    /**
+     * @return the only contestant on the throne, or null if it is empty or contested
+     */
+    public P getSoleOccupant() {
+        return this.occupants.size() == 1 ? this.occupants.get(0) : null;
+    }
+
+    private void enter(P contestant) {
+        contestant.onThrone = true;
+        this.occupants.add(contestant);
+    }
+
+    private void leave(P contestant) {
+        contestant.onThrone = false;
+        this.occupants.remove(contestant);
+    }
+}
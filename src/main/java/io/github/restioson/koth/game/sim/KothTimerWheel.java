@@ -0,0 +1,117 @@
+package io.github.restioson.koth.game.sim;
+
+/**
+ * A hashed timer wheel for actions due at a given game tick. Timers are kept in a bucket for their tick modulo
+ * {@link #BUCKETS}, so advancing the clock only looks at the timers in the buckets it passes over rather than at every
+ * pending timer.
+ *
+ * Timers are intrusive and can be rescheduled, so a timer that repeats or is reused doesn't allocate.
+ */
+public final class KothTimerWheel {
+    private static final int BUCKETS = 128;
+    private static final int MASK = BUCKETS - 1;
+    private static final long UNSTARTED = Long.MIN_VALUE;
+
+    private final Timer[] buckets = new Timer[BUCKETS];
+    private long time = UNSTARTED;
+    private int pending;
+
+    /**
+     * Schedules a timer, moving it if it is already scheduled. A timer due at or before the current time runs on the
+     * next call to {@link #advance}.
+     */
+    public void schedule(Timer timer, long at) {
+        timer.cancel();
+
+        long due = this.time == UNSTARTED ? at : Math.max(at, this.time + 1);
+        int bucket = (int) (due & MASK);
+
+        timer.wheel = this;
+        timer.deadline = due;
+        timer.bucket = bucket;
+        timer.next = this.buckets[bucket];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        this.buckets[bucket] = timer;
+        this.pending++;
+    }
+
+    /**
+     * Runs every timer that is due up to and including the given time.
+     */
+    public void advance(long now) {
+        if (this.time == UNSTARTED || now - this.time >= BUCKETS) {
+            // Timers scheduled before the first advance, or left over a full turn of the wheel, may be in any bucket and
+            // long overdue. Rather than waiting for their bucket to come round, they all run as of now
+            this.time = now;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                this.runBucket(bucket, now);
+            }
+            return;
+        }
+
+        while (this.time < now) {
+            // Moved forward before running anything, so timers rescheduled by a callback land after this step
+            this.time++;
+            this.runBucket((int) (this.time & MASK), this.time);
+        }
+    }
+
+    private void runBucket(int bucket, long now) {
+        Timer timer = this.buckets[bucket];
+        while (timer != null) {
+            if (timer.deadline <= now) {
+                timer.cancel();
+                timer.run();
+
+                // The callback may have cancelled or moved other timers in this bucket, so start again from its head
+                timer = this.buckets[bucket];
+            } else {
+                timer = timer.next;
+            }
+        }
+    }
+
+    /**
+     * @return the tick that timers are being run for, or were last run for
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    public int getPendingCount() {
+        return this.pending;
+    }
+
+    public abstract static class Timer {
+        private KothTimerWheel wheel;
+        private long deadline;
+        private int bucket;
+        private Timer prev;
+        private Timer next;
+
+        protected abstract void run();
+
+        public void cancel() {
+            KothTimerWheel wheel = this.wheel;
+            if (wheel == null) {
+                return;
+            }
+
+            if (this.prev != null) {
+                this.prev.next = this.next;
+            } else {
+                wheel.buckets[this.bucket] = this.next;
+            }
+            if (this.next != null) {
+                this.next.prev = this.prev;
+            }
+
+            this.wheel = null;
+            this.prev = null;
+            this.next = null;
+            wheel.pending--;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package io.github.restioson.koth.game.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plays matches against the simulation directly, ticking it the same way the game does.
+ */
+public class KothSimulationTest {
+    private static final int THRONE_SECS = 10;
+
+    private final List<String> events = new ArrayList<>();
+    private long time;
+
+    @Test
+    public void throneRoundGoesToWhoeverReignedLongest() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(THRONE_SECS, 1, false, false, false, false));
+        KothContestant ruler = this.add(simulation);
+        KothContestant other = this.add(simulation);
+
+        this.startRound(simulation);
+        KothRound.TickResult result = this.playUntilRoundFinished(simulation, () -> simulation.setOnThrone(ruler, true));
+
+        assertEquals(KothRound.TickResult.ROUND_FINISHED, result);
+        assertTrue(ruler.isOnThrone());
+        // A point for every second of the round
+        assertEquals(THRONE_SECS, ruler.getScore());
+        assertEquals(0, other.getScore());
+        assertEquals(1, ruler.getWins());
+        assertEquals(Arrays.asList("won game: " + ruler.slot), this.events("won"));
+    }
+
+    @Test
+    public void roundGoesToOvertimeWhileSomeoneOtherThanTheLeaderHoldsTheThrone() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(THRONE_SECS, 1, false, false, false, false));
+        KothContestant leader = this.add(simulation);
+        KothContestant challenger = this.add(simulation);
+
+        this.startRound(simulation);
+        long start = simulation.getRound().getStartTime();
+        long end = simulation.getRound().getFinishTime();
+
+        KothRound.TickResult result = this.playUntilRoundFinished(simulation, () -> {
+            // The challenger takes the throne near the end, and holds it for a while past the time limit
+            boolean challenged = this.time >= start + 150 && this.time < end + 60;
+            simulation.setOnThrone(leader, !challenged);
+            simulation.setOnThrone(challenger, challenged);
+        });
+
+        assertEquals(KothRound.TickResult.ROUND_FINISHED, result);
+        assertTrue(this.time > end + 60);
+        assertTrue(leader.getScore() > challenger.getScore());
+        assertEquals(Arrays.asList("overtime", "won game: " + leader.slot), this.events("overtime", "won"));
+    }
+
+    @Test
+    public void overtimeIsAnnouncedAgainInLaterRounds() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(THRONE_SECS, 2, false, false, false, false));
+        KothContestant ruler = this.add(simulation);
+        this.add(simulation);
+
+        this.startRound(simulation);
+
+        for (int round = 0; round < 2; round++) {
+            long end = simulation.getRound().getFinishTime();
+            this.playUntilRoundFinished(simulation, () -> simulation.setOnThrone(ruler, this.time < end - 10 || this.time > end + 15));
+
+            if (round == 0) {
+                this.playUntil(simulation, KothRound.TickResult.NEXT_ROUND);
+                simulation.resetRound();
+            }
+        }
+
+        assertEquals(Arrays.asList("overtime", "won round: " + ruler.slot, "overtime", "won game: " + ruler.slot), this.events("overtime", "won"));
+        assertEquals(2, ruler.getWins());
+    }
+
+    @Test
+    public void knockoffCreditsTheAttackerThenEveryoneWhoAssisted() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(0, 24, false, false, true, true));
+        KothContestant victim = this.add(simulation);
+        KothContestant firstAssist = this.add(simulation);
+        KothContestant secondAssist = this.add(simulation);
+        KothContestant attacker = this.add(simulation);
+        KothContestant bystander = this.add(simulation);
+
+        this.startRound(simulation);
+        this.tick(simulation);
+
+        simulation.recordAttack(victim, firstAssist, this.time);
+        simulation.recordAttack(victim, secondAssist, this.time);
+        simulation.recordAttack(victim, attacker, this.time);
+
+        assertSame(attacker, simulation.eliminate(victim, this.time));
+        assertEquals(Arrays.asList("scored: " + attacker.slot, "scored: " + secondAssist.slot, "scored: " + firstAssist.slot), this.events("scored"));
+        assertEquals(0, bystander.getScore());
+
+        // Knocked off players are straight back in
+        this.tick(simulation);
+        assertTrue(victim.isAlive());
+    }
+
+    @Test
+    public void knockoffStopsCreditingOnceTheAttackerWins() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(0, 1, false, false, true, true));
+        KothContestant victim = this.add(simulation);
+        KothContestant assist = this.add(simulation);
+        KothContestant attacker = this.add(simulation);
+
+        this.startRound(simulation);
+        this.tick(simulation);
+
+        simulation.recordAttack(victim, assist, this.time);
+        simulation.recordAttack(victim, attacker, this.time);
+        simulation.eliminate(victim, this.time);
+
+        assertTrue(simulation.isGameFinished());
+        assertEquals(1, attacker.getScore());
+        assertEquals(0, assist.getScore());
+        assertEquals(KothRound.TickResult.ROUND_FINISHED, this.tick(simulation));
+        assertSame(attacker, simulation.getLeader());
+    }
+
+    @Test
+    public void attacksAreOnlyCreditedWhileRecent() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(0, 24, false, false, true, false));
+        KothContestant victim = this.add(simulation);
+        KothContestant attacker = this.add(simulation);
+
+        this.startRound(simulation);
+        this.tick(simulation);
+
+        simulation.recordAttack(victim, attacker, this.time);
+        this.time += KothSimulation.ATTACK_EXPIRE_TICKS;
+
+        assertNull(simulation.eliminate(victim, this.time));
+        assertEquals(0, attacker.getScore());
+    }
+
+    @Test
+    public void deathmatchRoundEndsWhenOneContestantIsLeft() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(0, 3, false, true, false, false));
+        KothContestant first = this.add(simulation);
+        KothContestant second = this.add(simulation);
+        KothContestant survivor = this.add(simulation);
+
+        this.startRound(simulation);
+        this.tick(simulation);
+
+        simulation.eliminate(first, this.time);
+        assertEquals(KothRound.TickResult.CONTINUE_TICK, this.tick(simulation));
+        assertEquals(2, simulation.getAliveCount());
+
+        simulation.eliminate(second, this.time);
+        assertEquals(KothRound.TickResult.ROUND_FINISHED, this.tick(simulation));
+        assertEquals(Arrays.asList("won round: " + survivor.slot), this.events("won"));
+        assertEquals(1, survivor.getWins());
+
+        // Nobody comes back until the next round starts
+        assertFalse(first.isAlive());
+        this.playUntil(simulation, KothRound.TickResult.NEXT_ROUND);
+        assertTrue(first.isAlive());
+        assertTrue(second.isAlive());
+        assertEquals(3, simulation.getAliveCount());
+    }
+
+    @Test
+    public void eliminatedContestantsRespawnAfterCountingDown() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(150, 1, false, false, false, false));
+        KothContestant contestant = this.add(simulation);
+        this.add(simulation);
+
+        this.startRound(simulation);
+        this.tick(simulation);
+
+        // Eliminated partway through a tick, before the simulation is ticked
+        this.time++;
+        long deadTime = this.time;
+        simulation.eliminate(contestant, deadTime);
+        this.tickRoundAndContestants(simulation);
+
+        while (this.time < deadTime + KothSimulation.RESPAWN_SECS * 20 + 20) {
+            this.tick(simulation);
+        }
+
+        assertEquals(Arrays.asList(
+                "respawning: " + contestant.slot + " in 5 at 0",
+                "respawning: " + contestant.slot + " in 4 at 20",
+                "respawning: " + contestant.slot + " in 3 at 40",
+                "respawning: " + contestant.slot + " in 2 at 60",
+                "respawning: " + contestant.slot + " in 1 at 80",
+                "respawned: " + contestant.slot + " at 101"
+        ), relativeTo(deadTime, this.events("respawn")));
+        assertTrue(contestant.isAlive());
+        assertEquals(0, simulation.getPendingTimerCount());
+    }
+
+    @Test
+    public void lateRespawnCountdownStartsWhenTheRoundDoes() {
+        KothSimulation<KothContestant> simulation = this.create(new KothRules(150, 1, false, false, false, false));
+        KothContestant contestant = this.add(simulation);
+        this.add(simulation);
+
+        // Rejoins during the countdown, before the simulation has ticked any timers
+        simulation.start(this.time);
+        simulation.remove(contestant);
+        simulation.rejoin(contestant, this.time);
+
+        long start = simulation.getRound().getStartTime();
+        this.time = start - 1;
+        while (this.time < start + KothSimulation.RESPAWN_SECS * 20 + 20) {
+            this.tick(simulation);
+        }
+
+        assertEquals(Arrays.asList(
+                "respawning: " + contestant.slot + " in 5 at 0",
+                "respawning: " + contestant.slot + " in 4 at 20",
+                "respawning: " + contestant.slot + " in 3 at 40",
+                "respawning: " + contestant.slot + " in 2 at 60",
+                "respawning: " + contestant.slot + " in 1 at 80",
+                "respawned: " + contestant.slot + " at 101"
+        ), relativeTo(start, this.events("respawn")));
+    }
+
+    private KothSimulation<KothContestant> create(KothRules rules) {
+        return new KothSimulation<>(rules, new KothSimulation.Listener<KothContestant>() {
+            @Override
+            public void onScored(KothContestant contestant) {
+                KothSimulationTest.this.events.add("scored: " + contestant.slot);
+            }
+
+            @Override
+            public void onRespawnCountdown(KothContestant contestant, int seconds) {
+                KothSimulationTest.this.events.add("respawning: " + contestant.slot + " in " + seconds + " at " + KothSimulationTest.this.time);
+            }
+
+            @Override
+            public void onRespawn(KothContestant contestant) {
+                KothSimulationTest.this.events.add("respawned: " + contestant.slot + " at " + KothSimulationTest.this.time);
+            }
+
+            @Override
+            public void onOvertime() {
+                KothSimulationTest.this.events.add("overtime");
+            }
+
+            @Override
+            public void onRoundFinished(KothContestant winner, boolean wonGame) {
+                KothSimulationTest.this.events.add((wonGame ? "won game: " : "won round: ") + (winner != null ? winner.slot : "nobody"));
+            }
+        });
+    }
+
+    private KothContestant add(KothSimulation<KothContestant> simulation) {
+        KothContestant contestant = new KothContestant();
+        simulation.add(contestant);
+        return contestant;
+    }
+
+    /**
+     * Starts the round and waits out the countdown before it.
+     */
+    private void startRound(KothSimulation<KothContestant> simulation) {
+        simulation.start(this.time);
+        this.time = simulation.getRound().getStartTime() - 1;
+    }
+
+    private KothRound.TickResult tick(KothSimulation<KothContestant> simulation) {
+        this.time++;
+        return this.tickRoundAndContestants(simulation);
+    }
+
+    private KothRound.TickResult tickRoundAndContestants(KothSimulation<KothContestant> simulation) {
+        KothRound.TickResult result = simulation.tickRound(this.time, simulation.getContestants().size());
+        if (result == KothRound.TickResult.CONTINUE_TICK || result == KothRound.TickResult.OVERTIME) {
+            simulation.tickContestants(this.time);
+        }
+        return result;
+    }
+
+    private KothRound.TickResult playUntilRoundFinished(KothSimulation<KothContestant> simulation, Runnable eachTick) {
+        KothRound.TickResult result;
+        do {
+            eachTick.run();
+            result = this.tick(simulation);
+        } while (result != KothRound.TickResult.ROUND_FINISHED && this.time < 10_000);
+        return result;
+    }
+
+    private void playUntil(KothSimulation<KothContestant> simulation, KothRound.TickResult until) {
+        while (this.tick(simulation) != until) {
+            assertTrue(this.time < 10_000, "never reached " + until);
+        }
+    }
+
+    /**
+     * @return the events of the given kinds, in the order they happened
+     */
+    private List<String> events(String... kinds) {
+        List<String> events = new ArrayList<>();
+        for (String event : this.events) {
+            for (String kind : kinds) {
+                if (event.startsWith(kind)) {
+                    events.add(event);
+                    break;
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * @return the given events, which must all carry a time, with it made relative to the given time
+     */
+    private static List<String> relativeTo(long origin, List<String> events) {
+        List<String> relative = new ArrayList<>();
+        for (String event : events) {
+            int at = event.lastIndexOf(" at ");
+            relative.add(event.substring(0, at + 4) + (Long.parseLong(event.substring(at + 4)) - origin));
+        }
+        return relative;
+    }
+}